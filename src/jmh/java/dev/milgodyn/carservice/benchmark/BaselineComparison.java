@@ -0,0 +1,95 @@
+package dev.milgodyn.carservice.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the result file of an earlier run and exits with a non-zero
+ * status when any benchmark got worse by more than the threshold, so a {@code benchmark} build fails
+ * on regressions. Throughput scores are better when higher, all other modes when lower.
+ * <p>
+ * Usage: {@code BaselineComparison <result.json> <threshold percent> [<baseline.json>]}. Without a
+ * baseline the comparison is skipped.
+ */
+public final class BaselineComparison {
+
+    private static final String THROUGHPUT = "thrpt";
+    private static final String ROW_FORMAT = "%-64s %20s %20s %9s  %s%n";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args[2].isBlank()) {
+            System.out.println("No JMH baseline given, skipping comparison");
+            return;
+        }
+        var threshold = Double.parseDouble(args[1]);
+        var current = read(Path.of(args[0]));
+        var baseline = read(Path.of(args[2]));
+
+        System.out.printf(ROW_FORMAT, "Benchmark", "Baseline", "Current", "Change", "");
+        var regressions = 0;
+        for (var entry : current.entrySet()) {
+            var now = entry.getValue();
+            var before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(ROW_FORMAT, entry.getKey(), "-", now.formatted(), "-", "new");
+                continue;
+            }
+            var change = (now.score() - before.score()) / before.score() * 100;
+            var worsening = THROUGHPUT.equals(now.mode()) ? -change : change;
+            var verdict = worsening > threshold ? "REGRESSION" : worsening < -threshold ? "improvement" : "";
+            if (worsening > threshold) {
+                regressions++;
+            }
+            System.out.printf(ROW_FORMAT, entry.getKey(), before.formatted(), now.formatted(),
+                    "%+.1f%%".formatted(change), verdict);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%% against %s%n", regressions, threshold, args[2]);
+            System.exit(1);
+        }
+        System.out.printf("No benchmark regressed by more than %.1f%% against %s%n", threshold, args[2]);
+    }
+
+    /**
+     * Reads the primary score of every benchmark, keyed by its short name, mode and parameters.
+     */
+    private static Map<String, Score> read(Path file) throws IOException {
+        var scores = new LinkedHashMap<String, Score>();
+        for (var run : new ObjectMapper().readTree(Files.readAllBytes(file))) {
+            var name = run.path("benchmark").asText();
+            var mode = run.path("mode").asText();
+            var key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1))
+                    .append(" [").append(mode);
+            params(run).forEach((param, value) -> key.append(", ").append(param).append('=').append(value));
+            key.append(']');
+
+            var metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(mode, metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static Map<String, String> params(JsonNode run) {
+        var params = new TreeMap<String, String>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        return params;
+    }
+
+    private record Score(String mode, double score, String unit) {
+
+        String formatted() {
+            return "%.3f %s".formatted(score, unit);
+        }
+    }
+}
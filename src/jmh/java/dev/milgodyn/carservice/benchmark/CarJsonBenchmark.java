@@ -0,0 +1,51 @@
+package dev.milgodyn.carservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.milgodyn.carservice.dto.CarDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of a single {@link CarDto}, using an {@link ObjectMapper} configured
+ * the way Spring Boot configures its message converter, with dates written as ISO strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private CarDto car;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        var objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writerFor(CarDto.class);
+        reader = objectMapper.readerFor(CarDto.class);
+        car = Cars.dto(0);
+        json = writer.writeValueAsBytes(car);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(car);
+    }
+
+    @Benchmark
+    public CarDto deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.milgodyn.carservice.benchmark;
+
+import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.mapper.CarMapper;
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the MapStruct conversions done on every read and update, and of mapping a full page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarMapperBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final CarMapper mapper = Mappers.getMapper(CarMapper.class);
+
+    private CarEntity entity;
+    private List<CarEntity> page;
+    private CarDto update;
+
+    @Setup
+    public void setUp() {
+        entity = Cars.entity(0);
+        page = IntStream.range(0, PAGE_SIZE).mapToObj(Cars::entity).toList();
+        update = Cars.partialUpdate();
+    }
+
+    @Benchmark
+    public CarDto toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public List<CarDto> toDtoList() {
+        return mapper.toDtoList(page);
+    }
+
+    @Benchmark
+    public CarEntity updateCarFromDto() {
+        mapper.updateCarFromDto(update, entity);
+        return entity;
+    }
+}
@@ -0,0 +1,57 @@
+package dev.milgodyn.carservice.benchmark;
+
+import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fully populated sample cars shared by the benchmarks.
+ */
+final class Cars {
+
+    private Cars() {
+    }
+
+    static String vin(int i) {
+        return "BENCH%012d".formatted(i);
+    }
+
+    static CarDto dto(int i) {
+        return new CarDto(vin(i), "Toyota", "Corolla", 2000 + i % 25, 50000 + i, FuelType.GASOLINE, 1.8, "Black",
+                TransmissionType.MANUAL, "John Doe", 25000.00, "XYZ123456", LocalDate.of(2020, 5, 15),
+                LocalDate.of(2023, 5, 15), LocalDate.of(2024, 5, 15), LocalDateTime.of(2024, 5, 15, 10, 0));
+    }
+
+    static CarEntity entity(int i) {
+        var entity = new CarEntity();
+        entity.setVin(vin(i));
+        entity.setBrand("Toyota");
+        entity.setModel("Corolla");
+        entity.setProductionYear(2000 + i % 25);
+        entity.setMileage(50000 + i);
+        entity.setFuelType(FuelType.GASOLINE);
+        entity.setEngineCapacity(1.8);
+        entity.setColor("Black");
+        entity.setTransmission(TransmissionType.MANUAL);
+        entity.setOwner("John Doe");
+        entity.setPrice(25000.00);
+        entity.setRegistrationNumber("XYZ123456");
+        entity.setRegistrationDate(LocalDate.of(2020, 5, 15));
+        entity.setInsuranceExpirationDate(LocalDate.of(2023, 5, 15));
+        entity.setTechnicalInspectionExpirationDate(LocalDate.of(2024, 5, 15));
+        entity.setCreated(LocalDateTime.of(2024, 5, 15, 10, 0));
+        return entity;
+    }
+
+    /**
+     * Update payload as sent by a PUT that only changes the owner, mileage and price.
+     */
+    static CarDto partialUpdate() {
+        return new CarDto(null, null, null, null, 60000, null, null, null, null, "Jane Smith", 20000.00,
+                null, null, null, null, null);
+    }
+}
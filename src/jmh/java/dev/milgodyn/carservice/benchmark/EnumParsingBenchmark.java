@@ -0,0 +1,43 @@
+package dev.milgodyn.carservice.benchmark;
+
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of the enum values carried by every car payload, through the same {@code @JsonCreator}
+ * factories Jackson calls. Inputs are lower case so the case-insensitive path is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumParsingBenchmark {
+
+    @State(Scope.Thread)
+    public static class FuelTypeInput {
+
+        @Param({"gasoline", "hybrid"})
+        public String fuelType;
+    }
+
+    @State(Scope.Thread)
+    public static class TransmissionInput {
+
+        @Param({"manual", "automatic"})
+        public String transmission;
+    }
+
+    @Benchmark
+    public FuelType fuelType(FuelTypeInput input) {
+        return FuelType.fromValue(input.fuelType);
+    }
+
+    @Benchmark
+    public TransmissionType transmission(TransmissionInput input) {
+        return TransmissionType.fromValue(input.transmission);
+    }
+}
@@ -0,0 +1,131 @@
+package dev.milgodyn.carservice.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import dev.milgodyn.carservice.common.LogRateLimitFilter;
+import dev.milgodyn.carservice.common.LogSamplingFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the INFO lines a single {@code GET /v1/car/{vin}} writes, for each logging mode of
+ * {@code logback-spring.xml}:
+ * <ul>
+ *     <li>{@code sync}: the default synchronous appender with Spring Boot's console pattern,</li>
+ *     <li>{@code async}: JSON lines handed to a background writer by a non-blocking {@link AsyncAppender},</li>
+ *     <li>{@code async-sampled}: as {@code async}, with the sampling and rate limiting filters of the
+ *     {@code low-overhead-logging} profile.</li>
+ * </ul>
+ * The appenders write to a temporary file instead of the console, so the output does not end up in
+ * the JMH log. The asynchronous modes drop INFO events once their queue fills up, so part of their
+ * throughput is bought with lost lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final int CARS = 10_000;
+
+    @Param({"sync", "async", "async-sampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private Path file;
+    private Logger controllerLog;
+    private Logger serviceLog;
+
+    @Setup(Level.Trial)
+    public void configure() throws IOException {
+        context = new LoggerContext();
+        file = Files.createTempFile("logging-benchmark", ".log");
+
+        var fileAppender = new FileAppender<ILoggingEvent>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder("sync".equals(mode) ? patternEncoder() : jsonEncoder());
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (!"sync".equals(mode)) {
+            var asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        if ("async-sampled".equals(mode)) {
+            addSampling("dev.milgodyn.carservice.application", 100);
+            addSampling("dev.milgodyn.carservice.service.CarService", 100);
+            var rateLimit = new LogRateLimitFilter();
+            rateLimit.setMaxPerSecond(20);
+            rateLimit.setContext(context);
+            rateLimit.start();
+            context.addTurboFilter(rateLimit);
+        }
+
+        var root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        controllerLog = context.getLogger("dev.milgodyn.carservice.application.CarController");
+        serviceLog = context.getLogger("dev.milgodyn.carservice.service.CarService");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void getCarRequest() {
+        var vin = Cars.vin(ThreadLocalRandom.current().nextInt(CARS));
+        controllerLog.info("Received request to get car with VIN='{}'", vin);
+        serviceLog.info("Attemtping to retrieve car with VIN='{}'...", vin);
+        serviceLog.info("Successfully retrieved car with VIN='{}'", vin);
+        controllerLog.info("Returning car details for VIN='{}'", vin);
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        var encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        var encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+
+    private void addSampling(String loggerName, int sampleRate) {
+        var sampling = new LogSamplingFilter();
+        sampling.setLoggerName(loggerName);
+        sampling.setSampleRate(sampleRate);
+        sampling.setContext(context);
+        sampling.start();
+        context.addTurboFilter(sampling);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.milgodyn.carservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.milgodyn.carservice.config.BinaryFormatConfig;
+import dev.milgodyn.carservice.dto.CarDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encoding and decoding of a page of {@link CarDto}s as JSON, CBOR and Smile. The mappers are built
+ * like the application's: from a builder with the {@code spring.jackson} settings Spring Boot applies
+ * (ISO dates instead of timestamps, unwrapped deserialization exceptions) and, for the binary formats,
+ * through {@link BinaryFormatConfig}. {@code encode} reports the encoded size of the page in its
+ * {@code bytes} counter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<CarDto> cars;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        var builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, DeserializationFeature.WRAP_EXCEPTIONS);
+        var binaryFormats = new BinaryFormatConfig();
+        var objectMapper = switch (format) {
+            case "cbor" -> binaryFormats.mappingJackson2CborHttpMessageConverter(builder).getObjectMapper();
+            case "smile" -> binaryFormats.mappingJackson2SmileHttpMessageConverter(builder).getObjectMapper();
+            default -> builder.build();
+        };
+        var type = new TypeReference<List<CarDto>>() {
+        };
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+        cars = IntStream.range(0, PAGE_SIZE).mapToObj(Cars::dto).toList();
+        encoded = writer.writeValueAsBytes(cars);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws IOException {
+        var bytes = writer.writeValueAsBytes(cars);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<CarDto> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,104 @@
+package dev.milgodyn.carservice.benchmark;
+
+import dev.milgodyn.carservice.CarServiceApplication;
+import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.service.CarService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of the HTTP API served by the embedded Tomcat, with requests handled on
+ * the platform worker pool or on virtual threads ({@code virtual-threads} profile). The VIN cache
+ * is switched off so that every request blocks on JDBC, and the client runs more concurrent
+ * requests than Tomcat has platform workers.
+ * <p>
+ * The sample-time mode reports p99 next to the throughput figures. Pinned virtual threads are
+ * printed by {@code -Djdk.tracePinnedThreads}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-Djdk.tracePinnedThreads=short", "-Dspring.devtools.restart.enabled=false"})
+@Threads(400)
+public class ThreadModelBenchmark {
+
+    private static final int CARS = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI baseUri;
+    private String[] vins;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        context = new SpringApplicationBuilder(CarServiceApplication.class)
+                .profiles("virtual".equals(threads) ? new String[]{"virtual-threads"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "spring.cache.type=none",
+                        "logging.level.dev.milgodyn=warn")
+                .run();
+        baseUri = URI.create("http://localhost:%d/v1/".formatted(
+                ((WebServerApplicationContext) context).getWebServer().getPort()));
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        var carService = context.getBean(CarService.class);
+        vins = new String[CARS];
+        var batch = new ArrayList<CarDto>(BATCH_SIZE);
+        for (var i = 0; i < CARS; i++) {
+            vins[i] = Cars.vin(i);
+            batch.add(Cars.dto(i));
+            if (batch.size() == BATCH_SIZE) {
+                carService.createBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getCar() throws IOException, InterruptedException {
+        return send("car/" + vins[ThreadLocalRandom.current().nextInt(CARS)]);
+    }
+
+    @Benchmark
+    public int getPage() throws IOException, InterruptedException {
+        return send("cars?page_size=50&sort=production_year");
+    }
+
+    private int send(String path) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET %s returned HTTP %d".formatted(path, response.statusCode()));
+        }
+        return response.body().length;
+    }
+}
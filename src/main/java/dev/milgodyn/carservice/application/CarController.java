@@ -1,16 +1,40 @@
 package dev.milgodyn.carservice.application;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.milgodyn.carservice.common.EnumUtils;
 import dev.milgodyn.carservice.common.LogExecutionTime;
+import dev.milgodyn.carservice.dto.CarBatchResultDto;
 import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.dto.CarExpiryPageDto;
+import dev.milgodyn.carservice.dto.CarFacetsDto;
+import dev.milgodyn.carservice.dto.CarFieldsPageDto;
+import dev.milgodyn.carservice.dto.CarGroupStatsDto;
+import dev.milgodyn.carservice.dto.CarLookupResultDto;
+import dev.milgodyn.carservice.dto.CarPageDto;
+import dev.milgodyn.carservice.dto.CarSearchCriteria;
+import dev.milgodyn.carservice.dto.CarYearHistogramDto;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
 import dev.milgodyn.carservice.service.CarService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -18,7 +42,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CarController {
 
+    /**
+     * Rows written to an NDJSON export between two flushes; matches the fetch size of the export
+     * query, so the client receives each fetched batch as one chunk.
+     */
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
     private final CarService carService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/car")
     @LogExecutionTime
@@ -36,12 +67,46 @@ public class CarController {
                 .body(responseBody);
     }
 
+    @PostMapping("/cars/batch")
+    @LogExecutionTime
+    public ResponseEntity<CarBatchResultDto> createBatch(@RequestBody List<CarDto> dtos) {
+        log.info("Received request to create batch of {} cars", dtos.size());
+        var responseBody = carService.createBatch(dtos);
+        log.info("Returning results for batch of {} cars", dtos.size());
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
+    @PostMapping("/cars/lookup")
+    @LogExecutionTime
+    public ResponseEntity<CarLookupResultDto> lookup(@RequestBody List<String> vins) {
+        log.info("Received request to look up {} cars", vins.size());
+        var responseBody = carService.lookup(vins);
+        log.info("Returning {} cars, {} missing", responseBody.cars().size(), responseBody.missing().size());
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
     @GetMapping("/car/{vin}")
     @LogExecutionTime
-    public ResponseEntity<CarDto> get(@PathVariable String vin) {
+    public ResponseEntity<CarDto> get(@PathVariable String vin, NativeWebRequest request) {
         log.info("Received request to get car with VIN='{}'", vin);
-        var responseBody = carService.get(vin);
-        log.info("Returning car details for VIN='{}'", responseBody.vin());
+        var responseBody = carService.getVersioned(vin);
+        log.info("Returning car details for VIN='{}'", responseBody.body().vin());
+        RepresentationEtagAdvice.setEtag(request, responseBody.etag());
+        return ResponseEntity
+                .ok()
+                .body(responseBody.body());
+    }
+
+    @GetMapping(value = "/car/{vin}", params = "fields")
+    @LogExecutionTime
+    public ResponseEntity<Map<String, Object>> getFields(@PathVariable String vin, @RequestParam String fields) {
+        log.info("Received request to get fields '{}' of car with VIN='{}'", fields, vin);
+        var responseBody = carService.getFields(vin, CarField.fromValues(fields));
+        log.info("Returning {} fields of car with VIN='{}'", responseBody.size(), vin);
         return ResponseEntity
                 .ok()
                 .body(responseBody);
@@ -49,6 +114,170 @@ public class CarController {
 
     @GetMapping("/cars")
     @LogExecutionTime
+    public ResponseEntity<CarPageDto> getPage(@RequestParam(required = false) String cursor,
+                                              @RequestParam(name = "page_size", required = false) Integer pageSize,
+                                              @RequestParam(defaultValue = "vin") String sort,
+                                              @RequestParam(defaultValue = "asc") String direction,
+                                              NativeWebRequest request) {
+        log.info("Received request to get page of cars");
+        var responseBody = carService.getCarsPage(
+                cursor,
+                pageSize,
+                CarSortField.fromValue(sort),
+                EnumUtils.fromValue(direction, Sort.Direction.class, "direction")
+        );
+        log.info("Returning details for page of {} cars", responseBody.body().items().size());
+        RepresentationEtagAdvice.setEtag(request, responseBody.etag());
+        return ResponseEntity
+                .ok()
+                .body(responseBody.body());
+    }
+
+    @GetMapping(value = "/cars", params = {"fields", "!unpaged"})
+    @LogExecutionTime
+    public ResponseEntity<CarFieldsPageDto> getFieldsPage(@RequestParam String fields,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(name = "page_size", required = false) Integer pageSize,
+                                                          @RequestParam(defaultValue = "vin") String sort,
+                                                          @RequestParam(defaultValue = "asc") String direction) {
+        log.info("Received request to get fields '{}' of page of cars", fields);
+        var responseBody = carService.getCarFieldsPage(
+                cursor,
+                pageSize,
+                CarSortField.fromValue(sort),
+                EnumUtils.fromValue(direction, Sort.Direction.class, "direction"),
+                CarField.fromValues(fields)
+        );
+        log.info("Returning fields of page of {} cars", responseBody.items().size());
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
+    @GetMapping("/cars/search")
+    @LogExecutionTime
+    public ResponseEntity<CarPageDto> search(@RequestParam(required = false) String brand,
+                                             @RequestParam(required = false) String model,
+                                             @RequestParam(name = "fuel_type", required = false) String fuelType,
+                                             @RequestParam(required = false) String transmission,
+                                             @RequestParam(name = "production_year_from", required = false) Integer productionYearFrom,
+                                             @RequestParam(name = "production_year_to", required = false) Integer productionYearTo,
+                                             @RequestParam(name = "price_from", required = false) Double priceFrom,
+                                             @RequestParam(name = "price_to", required = false) Double priceTo,
+                                             @RequestParam(name = "mileage_from", required = false) Integer mileageFrom,
+                                             @RequestParam(name = "mileage_to", required = false) Integer mileageTo,
+                                             @RequestParam(required = false) String owner,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(name = "page_size", required = false) Integer pageSize,
+                                             @RequestParam(defaultValue = "vin") String sort,
+                                             @RequestParam(defaultValue = "asc") String direction,
+                                             NativeWebRequest request) {
+        log.info("Received request to search cars");
+        var criteria = new CarSearchCriteria(
+                brand,
+                model,
+                fuelType == null ? null : FuelType.fromValue(fuelType),
+                transmission == null ? null : TransmissionType.fromValue(transmission),
+                productionYearFrom,
+                productionYearTo,
+                priceFrom,
+                priceTo,
+                mileageFrom,
+                mileageTo,
+                owner
+        );
+        var responseBody = carService.searchCars(
+                criteria,
+                cursor,
+                pageSize,
+                CarSortField.fromValue(sort),
+                EnumUtils.fromValue(direction, Sort.Direction.class, "direction")
+        );
+        log.info("Returning details for page of {} found cars", responseBody.body().items().size());
+        RepresentationEtagAdvice.setEtag(request, responseBody.etag());
+        return ResponseEntity
+                .ok()
+                .body(responseBody.body());
+    }
+
+    @GetMapping("/cars/expiring")
+    @LogExecutionTime
+    public ResponseEntity<CarExpiryPageDto> getExpiring(@RequestParam String document,
+                                                        @RequestParam(name = "within_days", defaultValue = "30") int withinDays,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(name = "page_size", required = false) Integer pageSize) {
+        log.info("Received request to get cars with {} expiring within {} days", document, withinDays);
+        var responseBody = carService.getExpiringCars(CarDocument.fromValue(document), withinDays, cursor, pageSize);
+        log.info("Returning page of {} cars with expiring {}", responseBody.items().size(), document);
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
+    @GetMapping("/cars/facets")
+    @LogExecutionTime
+    public ResponseEntity<CarFacetsDto> getFacets() {
+        log.info("Received request to get car facets");
+        var responseBody = carService.getFacets();
+        log.info("Returning car facets for {} brands", responseBody.brand().size());
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
+    @GetMapping("/cars/stats")
+    @LogExecutionTime
+    public ResponseEntity<List<CarGroupStatsDto>> getStats(@RequestParam(name = "group_by", required = false) String groupBy) {
+        log.info("Received request to get car statistics grouped by '{}'", groupBy);
+        var responseBody = carService.getStats(groupBy == null ? null : CarGroupField.fromValue(groupBy));
+        log.info("Returning car statistics for {} groups", responseBody.size());
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
+    @GetMapping("/cars/stats/production-years")
+    @LogExecutionTime
+    public ResponseEntity<List<CarYearHistogramDto>> getProductionYearHistogram(@RequestParam(name = "group_by", required = false) String groupBy) {
+        log.info("Received request to get production year histogram grouped by '{}'", groupBy);
+        var responseBody = carService.getProductionYearHistogram(groupBy == null ? null : CarGroupField.fromValue(groupBy));
+        log.info("Returning production year histogram for {} groups", responseBody.size());
+        return ResponseEntity
+                .ok()
+                .body(responseBody);
+    }
+
+    @GetMapping(value = "/cars", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @LogExecutionTime
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Received request to export all cars");
+        StreamingResponseBody responseBody = outputStream -> {
+            var writer = objectMapper.writerFor(CarDto.class);
+            try (var generator = objectMapper.createGenerator(outputStream).setRootValueSeparator(null)) {
+                var rows = new int[1];
+                carService.exportAllCars(car -> {
+                    try {
+                        writer.writeValue(generator, car);
+                        generator.writeRaw('\n');
+                        if (++rows[0] % EXPORT_FLUSH_ROWS == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.flush();
+            }
+            log.info("Returning details for all exported cars");
+        };
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
+    @GetMapping(value = "/cars", params = "unpaged=true")
+    @LogExecutionTime
     public ResponseEntity<List<CarDto>> getAll() {
         log.info("Received request to get all cars");
         var responseBody = carService.getAllCars();
@@ -69,6 +298,17 @@ public class CarController {
                 .body(responseBody);
     }
 
+    @PatchMapping("/car/{vin}")
+    @LogExecutionTime
+    public ResponseEntity<Void> patch(@PathVariable String vin, @RequestBody CarDto dto) {
+        log.info("Received request to patch car with VIN='{}'", vin);
+        carService.patch(vin, dto);
+        log.info("Returning HTTP 204 response after successful patched car with VIN='{}'", vin);
+        return ResponseEntity
+                .noContent()
+                .build();
+    }
+
     @DeleteMapping("/car/{vin}")
     @LogExecutionTime
     public ResponseEntity<Void> delete(@PathVariable String vin) {
@@ -0,0 +1,73 @@
+package dev.milgodyn.carservice.application;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * Tags negotiated responses once Spring MVC has selected the format they are written in. The same
+ * resource is served as JSON, CBOR or Smile under one URI, so every response varies by
+ * {@code Accept}, and the entity tag a handler passes to {@link #setEtag} gets the subtype of the
+ * selected media type appended, except for JSON. A matching {@code If-None-Match} is answered here
+ * with {@code 304 Not Modified} and no body.
+ */
+@ControllerAdvice
+public class RepresentationEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String ETAG_ATTRIBUTE = RepresentationEtagAdvice.class.getName() + ".etag";
+
+    /**
+     * Sets the entity tag of the resource returned for {@code request}, before it is made specific to
+     * the negotiated format.
+     */
+    public static void setEtag(NativeWebRequest request, String etag) {
+        request.setAttribute(ETAG_ATTRIBUTE, etag, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        var headers = response.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        var servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        if (!(servletRequest.getAttribute(ETAG_ATTRIBUTE) instanceof String etag)) {
+            return body;
+        }
+        var representationEtag = MediaType.APPLICATION_JSON.getSubtype().equals(selectedContentType.getSubtype())
+                ? etag
+                : etag.substring(0, etag.length() - 1) + "-" + selectedContentType.getSubtype() + "\"";
+        headers.setETag(representationEtag);
+        if ((request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD)
+                && matches(request.getHeaders().getIfNoneMatch(), representationEtag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        return ifNoneMatch.stream()
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
@@ -0,0 +1,147 @@
+package dev.milgodyn.carservice.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counting Bloom filter over strings. Every slot is a 4-bit counter, sixteen of them packed
+ * into each {@code long}, which allows removals as long as only previously added keys are removed.
+ * A counter that reaches 15 sticks there and is never decremented again, trading a slightly higher
+ * false-positive rate for never producing a false negative.
+ */
+public final class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final int BITS_PER_COUNTER = 4;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final long MAX_COUNT = COUNTER_MASK;
+    private static final long FIRST_SEED = 0x9E3779B97F4A7C15L;
+    private static final long SECOND_SEED = 0xC2B2AE3D27D4EB4FL;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashFunctions;
+    private final LongAdder entries = new LongAdder();
+
+    private CountingBloomFilter(long counters, int hashFunctions) {
+        this.counters = counters;
+        this.hashFunctions = hashFunctions;
+        this.words = new AtomicLongArray(Math.toIntExact((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+    }
+
+    public static CountingBloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing: expectedInsertions=%d, falsePositiveProbability=%s"
+                    .formatted(expectedInsertions, falsePositiveProbability));
+        }
+        var counters = Math.max(COUNTERS_PER_WORD,
+                (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))));
+        var hashFunctions = Math.max(1, (int) Math.round((double) counters / expectedInsertions * Math.log(2)));
+        return new CountingBloomFilter(counters, hashFunctions);
+    }
+
+    public void add(String key) {
+        var h1 = hash(key, FIRST_SEED);
+        var h2 = hash(key, SECOND_SEED) | 1;
+        for (var i = 0; i < hashFunctions; i++) {
+            increment(index(h1, h2, i));
+        }
+        entries.increment();
+    }
+
+    /**
+     * Removes a key that has been added before. Removing a key that was never added may turn other
+     * keys into false negatives.
+     */
+    public void remove(String key) {
+        var h1 = hash(key, FIRST_SEED);
+        var h2 = hash(key, SECOND_SEED) | 1;
+        for (var i = 0; i < hashFunctions; i++) {
+            decrement(index(h1, h2, i));
+        }
+        entries.decrement();
+    }
+
+    public boolean mightContain(String key) {
+        var h1 = hash(key, FIRST_SEED);
+        var h2 = hash(key, SECOND_SEED) | 1;
+        for (var i = 0; i < hashFunctions; i++) {
+            if (counter(index(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long entries() {
+        return entries.sum();
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * Expected false-positive probability for the number of keys currently stored.
+     */
+    public double falsePositiveProbability() {
+        var stored = Math.max(0, entries());
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) stored / counters), hashFunctions);
+    }
+
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % counters;
+    }
+
+    private long counter(long index) {
+        var shift = shift(index);
+        return (words.get(word(index)) >>> shift) & COUNTER_MASK;
+    }
+
+    private void increment(long index) {
+        var word = word(index);
+        var shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            if (((current >>> shift) & COUNTER_MASK) == MAX_COUNT) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current + (1L << shift)));
+    }
+
+    private void decrement(long index) {
+        var word = word(index);
+        var shift = shift(index);
+        long current;
+        do {
+            current = words.get(word);
+            var count = (current >>> shift) & COUNTER_MASK;
+            if (count == 0 || count == MAX_COUNT) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current - (1L << shift)));
+    }
+
+    private static int word(long index) {
+        return (int) (index / COUNTERS_PER_WORD);
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * BITS_PER_COUNTER;
+    }
+
+    private static long hash(String key, long seed) {
+        var h = seed;
+        for (var i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
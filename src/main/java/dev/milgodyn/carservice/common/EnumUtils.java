@@ -4,16 +4,34 @@ import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import java.util.Arrays;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class EnumUtils {
 
+    /**
+     * Case-insensitive name lookup of every enum decoded so far, built once per enum class. Enums have
+     * a handful of constants, so a lookup is a few allocation-free string comparisons.
+     */
+    private static final ClassValue<Map<String, Enum<?>>> CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Map<String, Enum<?>> computeValue(Class<?> type) {
+            var constants = new TreeMap<String, Enum<?>>(String.CASE_INSENSITIVE_ORDER);
+            for (var constant : type.getEnumConstants()) {
+                var enumConstant = (Enum<?>) constant;
+                constants.put(enumConstant.name(), enumConstant);
+            }
+            return constants;
+        }
+    };
+
     public static <T extends Enum<T>> T fromValue(String value, Class<T> enumClass, String propertyName) throws NoSuchElementException {
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(enumConstant -> enumConstant.name().equalsIgnoreCase(value))
-                .findFirst()
-                .orElseThrow(() -> new InvalidPropertyValueException(value, propertyName));
+        var constant = value == null ? null : CONSTANTS.get(enumClass).get(value);
+        if (constant == null) {
+            throw new InvalidPropertyValueException(value, propertyName);
+        }
+        return enumClass.cast(constant);
     }
 }
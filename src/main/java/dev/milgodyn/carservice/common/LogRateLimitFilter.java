@@ -0,0 +1,69 @@
+package dev.milgodyn.carservice.common;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logback turbo filter that lets every message pattern below WARN through at most
+ * {@code maxPerSecond} times per second and drops the rest. Messages are told apart by their format
+ * string, so only parameterized messages are grouped. At most {@code cacheSize} patterns are tracked;
+ * when more show up, the counts start over.
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private int maxPerSecond = 100;
+    private int cacheSize = 1000;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null
+                || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        var second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        var window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= cacheSize) {
+                windows.clear();
+            }
+            window = windows.computeIfAbsent(format, key -> new Window());
+        }
+        return window.tryAcquire(second, maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    private static final class Window {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long second = Long.MIN_VALUE;
+
+        boolean tryAcquire(long now, int max) {
+            if (second != now) {
+                synchronized (this) {
+                    if (second != now) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
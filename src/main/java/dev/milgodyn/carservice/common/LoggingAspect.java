@@ -1,30 +1,76 @@
 package dev.milgodyn.carservice.common;
 
+import dev.milgodyn.carservice.config.MethodTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the execution time of every {@link LogExecutionTime} method in the
+ * {@value #TIMER_NAME} timer, tagged by {@code method} and by {@code outcome}, which is either
+ * {@code success} or the simple name of the thrown exception. Timers of successful calls are looked
+ * up once per method, so the common path does not touch the registry.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
+    static final String TIMER_NAME = "car.service.method.execution";
+    private static final String SUCCESS = "success";
+
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
-    @Around("@annotation(dev.milgodyn.carservice.common.LogExecutionTime)")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        final StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    private final MeterRegistry meterRegistry;
+    private final MethodTimingProperties properties;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
 
-        Object proceed = joinPoint.proceed();
+    public LoggingAspect(MeterRegistry meterRegistry, MethodTimingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
 
-        stopWatch.stop();
+    @Around("@annotation(dev.milgodyn.carservice.common.LogExecutionTime)")
+    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var start = System.nanoTime();
+        try {
+            var proceed = joinPoint.proceed();
+            record(successTimers.computeIfAbsent(method, key -> timer(key, SUCCESS)), joinPoint, start);
+            return proceed;
+        } catch (Throwable e) {
+            record(timer(method, e.getClass().getSimpleName()), joinPoint, start);
+            throw e;
+        }
+    }
 
-        log.info("\"{}\" executed in {} ms", joinPoint.getSignature(), stopWatch.getTotalTimeMillis());
+    private void record(Timer timer, ProceedingJoinPoint joinPoint, long start) {
+        var elapsed = System.nanoTime() - start;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("\"{}\" executed in {} ms", joinPoint.getSignature(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
 
-        return proceed;
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Execution time of @LogExecutionTime methods")
+                .tag("method", method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .tag("outcome", outcome)
+                .serviceLevelObjectives(properties.slo().toArray(Duration[]::new))
+                .publishPercentileHistogram(properties.percentileHistogram())
+                .publishPercentiles(properties.percentiles().stream().mapToDouble(Double::doubleValue).toArray())
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,142 @@
+package dev.milgodyn.carservice.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Nested phase spans of the request handled by the current thread. Phases are reported in the order
+ * they were first entered, each with its self time, i.e. without the time spent in phases nested
+ * inside it, so the phases of a request add up to at most its total time. The span tree kept for
+ * slow-request logs is capped at {@value #MAX_SPANS} spans, as a single request may map thousands of
+ * rows; the per-phase totals are always complete.
+ * <p>
+ * Not thread-safe; a timing belongs to the thread that called {@link #begin()}.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final int MAX_SPANS = 200;
+
+    private final long start = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Deque<OpenSpan> open = new ArrayDeque<>();
+    private final List<Span> spans = new ArrayList<>();
+    private int omittedSpans;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming begin() {
+        var timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Returns the timing of the request handled by the current thread, or {@code null} when the
+     * thread is not handling a timed request.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void enter(String phase, String operation) {
+        Span span = null;
+        if (spans.size() < MAX_SPANS) {
+            span = new Span(open.size(), phase, operation);
+            spans.add(span);
+        } else {
+            omittedSpans++;
+        }
+        open.push(new OpenSpan(phases.computeIfAbsent(phase, name -> new Phase()), span, System.nanoTime()));
+    }
+
+    public void exit() {
+        var closed = open.pop();
+        var duration = System.nanoTime() - closed.start;
+        if (closed.span != null) {
+            closed.span.nanos = duration;
+        }
+        if (!open.isEmpty()) {
+            open.peek().childNanos += duration;
+        }
+        closed.phase.calls++;
+        closed.phase.selfNanos += duration - closed.childNanos;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Formats the phases as a {@code Server-Timing} header value, followed by a {@code total} entry.
+     */
+    public String toServerTiming(long totalNanos) {
+        var header = new StringBuilder();
+        phases.forEach((name, phase) -> header.append(name)
+                .append(";desc=\"").append(phase.calls).append(phase.calls == 1 ? " call\"" : " calls\"")
+                .append(";dur=").append(millis(phase.selfNanos))
+                .append(", "));
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    /**
+     * Formats the recorded spans as an indented tree, one span per line with its total time.
+     */
+    public String toTree() {
+        var tree = spans.stream()
+                .map(span -> "  ".repeat(span.depth + 1) + span.phase + " " + span.operation + " " + millis(span.nanos) + " ms")
+                .collect(Collectors.joining(System.lineSeparator()));
+        return omittedSpans == 0
+                ? tree
+                : tree + System.lineSeparator() + "  ... %d more spans".formatted(omittedSpans);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static final class Phase {
+
+        private long calls;
+        private long selfNanos;
+    }
+
+    private static final class Span {
+
+        private final int depth;
+        private final String phase;
+        private final String operation;
+        private long nanos;
+
+        private Span(int depth, String phase, String operation) {
+            this.depth = depth;
+            this.phase = phase;
+            this.operation = operation;
+        }
+    }
+
+    private static final class OpenSpan {
+
+        private final Phase phase;
+        private final Span span;
+        private final long start;
+        private long childNanos;
+
+        private OpenSpan(Phase phase, Span span, long start) {
+            this.phase = phase;
+            this.span = span;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.milgodyn.carservice.common;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records calls into the controller, service, mapper and repository layers as phases of the current
+ * {@link RequestTiming}, if any. Only registered when {@code car-service.server-timing.enabled} is
+ * set, so that by default these layers are not wrapped in any advice.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "car-service.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingAspect {
+
+    @Around("within(dev.milgodyn.carservice.application.CarController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase("controller", joinPoint);
+    }
+
+    @Around("within(dev.milgodyn.carservice.service.CarService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase("service", joinPoint);
+    }
+
+    @Around("within(dev.milgodyn.carservice.mapper.CarMapper+)")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase("mapper", joinPoint);
+    }
+
+    @Around("this(dev.milgodyn.carservice.persistence.repository.CarRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase("repository", joinPoint);
+    }
+
+    private static Object timePhase(String phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        var timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.enter(phase, joinPoint.getSignature().toShortString());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exit();
+        }
+    }
+}
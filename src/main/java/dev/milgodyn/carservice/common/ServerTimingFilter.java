@@ -0,0 +1,52 @@
+package dev.milgodyn.carservice.common;
+
+import dev.milgodyn.carservice.config.ServerTimingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Times every request with a {@link RequestTiming} and returns the phases in a
+ * {@code Server-Timing} header. The timing is left in the {@value #TIMING_ATTRIBUTE} request attribute,
+ * so that {@link SqlStatementCountFilter} can log the span tree of slow requests. The body is buffered
+ * so that the header can be set after serialization has been timed. NDJSON exports are streamed and
+ * therefore passed through untimed.
+ */
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    static final String TIMING_ATTRIBUTE = "dev.milgodyn.carservice.common.ServerTimingFilter.timing";
+
+    private final ServerTimingProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var accept = request.getHeader(HttpHeaders.ACCEPT);
+        return !properties.enabled()
+                || accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var timing = RequestTiming.begin();
+        request.setAttribute(TIMING_ATTRIBUTE, timing);
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            RequestTiming.end();
+            responseWrapper.setHeader(SERVER_TIMING, timing.toServerTiming(timing.elapsedNanos()));
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+}
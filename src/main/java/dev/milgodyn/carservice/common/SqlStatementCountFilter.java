@@ -0,0 +1,132 @@
+package dev.milgodyn.carservice.common;
+
+import dev.milgodyn.carservice.config.ServerTimingProperties;
+import dev.milgodyn.carservice.persistence.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the number of SQL statements of every request in the {@value #STATEMENTS_METRIC} summary
+ * per route, and logs requests slower than the configured threshold, with their span tree when
+ * {@link ServerTimingFilter} timed them. The response is not buffered, so the filter is always on.
+ * Statements that a streamed response runs on an async thread are added by
+ * {@link #callableInterceptor()}, and such a request is recorded once its final async dispatch ends.
+ * <p>
+ * When {@code sql-statement-count-header} is set, the count is also returned in the
+ * {@code X-SQL-Statement-Count} header. Only then is the body buffered, so that the header can follow
+ * it; streamed NDJSON exports never get the header.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String SQL_STATEMENT_COUNT = "X-SQL-Statement-Count";
+    static final String STATEMENTS_METRIC = "car.service.request.sql.statements";
+    private static final String START_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".start";
+    private static final String STATEMENTS_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".statements";
+    private static final String ASYNC_STATEMENTS_BEFORE_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".asyncStatementsBefore";
+
+    private final ServerTimingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Adds the statements that a {@code Callable} or {@code StreamingResponseBody} runs on an async
+     * thread to the count of its request.
+     */
+    public static CallableProcessingInterceptor callableInterceptor() {
+        return new CallableProcessingInterceptor() {
+
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                request.setAttribute(ASYNC_STATEMENTS_BEFORE_ATTRIBUTE, SqlStatementCounter.count(), RequestAttributes.SCOPE_REQUEST);
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+                var before = (Long) request.getAttribute(ASYNC_STATEMENTS_BEFORE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (before != null) {
+                    addStatements((ServletRequest) request.getNativeRequest(), SqlStatementCounter.count() - before);
+                }
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        var responseWrapper = properties.sqlStatementCountHeader() && !isAsyncDispatch(request) && !isNdjson(request)
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        var statementsBefore = SqlStatementCounter.count();
+        try {
+            filterChain.doFilter(request, responseWrapper == null ? response : responseWrapper);
+        } finally {
+            addStatements(request, SqlStatementCounter.count() - statementsBefore);
+            if (!isAsyncStarted(request)) {
+                var statements = complete(request);
+                if (responseWrapper != null) {
+                    responseWrapper.setHeader(SQL_STATEMENT_COUNT, String.valueOf(statements));
+                    responseWrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private long complete(HttpServletRequest request) {
+        var total = System.nanoTime() - (Long) request.getAttribute(START_ATTRIBUTE);
+        var statements = (Long) request.getAttribute(STATEMENTS_ATTRIBUTE);
+        var route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("Number of SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", route == null ? "UNKNOWN" : route.toString())
+                .register(meterRegistry)
+                .record(statements);
+        if (total > properties.slowRequestThreshold().toNanos()) {
+            var timing = request.getAttribute(ServerTimingFilter.TIMING_ATTRIBUTE);
+            log.warn("Slow request {} {} took {} ms and ran {} SQL statements{}", request.getMethod(),
+                    request.getRequestURI(), TimeUnit.NANOSECONDS.toMillis(total), statements,
+                    timing instanceof RequestTiming requestTiming
+                            ? ":" + System.lineSeparator() + requestTiming.toTree()
+                            : "");
+        }
+        return statements;
+    }
+
+    private static void addStatements(ServletRequest request, long statements) {
+        var counted = (Long) request.getAttribute(STATEMENTS_ATTRIBUTE);
+        request.setAttribute(STATEMENTS_ATTRIBUTE, counted == null ? statements : counted + statements);
+    }
+
+    private static boolean isNdjson(HttpServletRequest request) {
+        var accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.milgodyn.carservice.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR counterpart of {@link TimedJackson2HttpMessageConverter}.
+ */
+public class TimedJackson2CborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public TimedJackson2CborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TimedJackson2HttpMessageConverter.timed(object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
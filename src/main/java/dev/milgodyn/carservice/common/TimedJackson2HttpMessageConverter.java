@@ -0,0 +1,44 @@
+package dev.milgodyn.carservice.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records the writing of response bodies as the {@code serialization} phase
+ * of the current {@link RequestTiming}.
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        timed(object, () -> super.writeInternal(object, type, outputMessage));
+    }
+
+    static void timed(Object object, BodyWriter writer) throws IOException {
+        var timing = RequestTiming.current();
+        if (timing == null) {
+            writer.write();
+            return;
+        }
+        timing.enter("serialization", object.getClass().getSimpleName());
+        try {
+            writer.write();
+        } finally {
+            timing.exit();
+        }
+    }
+
+    @FunctionalInterface
+    interface BodyWriter {
+
+        void write() throws IOException;
+    }
+}
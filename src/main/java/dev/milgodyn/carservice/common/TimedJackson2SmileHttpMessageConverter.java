@@ -0,0 +1,23 @@
+package dev.milgodyn.carservice.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile counterpart of {@link TimedJackson2HttpMessageConverter}.
+ */
+public class TimedJackson2SmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public TimedJackson2SmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TimedJackson2HttpMessageConverter.timed(object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
@@ -0,0 +1,18 @@
+package dev.milgodyn.carservice.config;
+
+import dev.milgodyn.carservice.common.SqlStatementCountFilter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts the SQL statements that streamed responses run on async threads towards their request.
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(SqlStatementCountFilter.callableInterceptor());
+    }
+}
@@ -0,0 +1,13 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxSize   the largest number of cars accepted in one batch
+ * @param chunkSize the number of VINs checked for existence with one {@code IN} query
+ */
+@ConfigurationProperties(prefix = "car-service.batch-create")
+public record BatchCreateProperties(@DefaultValue("5000") int maxSize,
+                                    @DefaultValue("500") int chunkSize) {
+}
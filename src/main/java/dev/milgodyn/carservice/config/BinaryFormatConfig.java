@@ -0,0 +1,32 @@
+package dev.milgodyn.carservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.milgodyn.carservice.common.TimedJackson2CborHttpMessageConverter;
+import dev.milgodyn.carservice.common.TimedJackson2SmileHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets clients exchange CBOR ({@code application/cbor}) or Smile ({@code application/x-jackson-smile})
+ * instead of JSON through the {@code Accept} and {@code Content-Type} headers. Both converters replace
+ * the ones Spring MVC registers by default and are built from the auto-configured Jackson builder, so
+ * they share the {@code spring.jackson} settings and write the same property names in the same order
+ * as JSON.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new TimedJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new TimedJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
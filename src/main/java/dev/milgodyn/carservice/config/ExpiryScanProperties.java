@@ -0,0 +1,29 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the daily expiry scan. {@code sink} is bound here although the sinks are selected by
+ * their own {@code @ConditionalOnProperty}, so that an unknown value fails startup with an error
+ * naming the property instead of leaving the scanner without a sink bean.
+ */
+@ConfigurationProperties(prefix = "car-service.expiry-scan")
+public record ExpiryScanProperties(@DefaultValue("false") boolean enabled,
+                                   @DefaultValue("0 0 3 * * *") String cron,
+                                   @DefaultValue("30") int withinDays,
+                                   @DefaultValue("500") int batchSize,
+                                   @DefaultValue("log") Sink sink,
+                                   @DefaultValue("expiry-reports") Path directory,
+                                   @DefaultValue("10000") int queueCapacity,
+                                   @DefaultValue("5s") Duration queueOfferTimeout) {
+
+    public enum Sink {
+        LOG,
+        FILE,
+        QUEUE
+    }
+}
@@ -0,0 +1,13 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits of a multi-VIN lookup: the number of VINs per request and the number of VINs bound into a
+ * single {@code IN} list.
+ */
+@ConfigurationProperties(prefix = "car-service.lookup")
+public record LookupProperties(@DefaultValue("1000") int maxSize,
+                               @DefaultValue("500") int chunkSize) {
+}
@@ -0,0 +1,19 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Histogram settings of the timers recorded for {@code @LogExecutionTime} methods. The SLO
+ * boundaries are always published as buckets; {@code percentileHistogram} adds the finer buckets from
+ * which a Prometheus server computes arbitrary percentiles, and {@code percentiles} are computed in
+ * the application, which cannot be aggregated across instances.
+ */
+@ConfigurationProperties(prefix = "car-service.method-timing")
+public record MethodTimingProperties(@DefaultValue({"5ms", "10ms", "25ms", "50ms", "100ms", "250ms", "500ms", "1s"}) List<Duration> slo,
+                                     @DefaultValue("true") boolean percentileHistogram,
+                                     @DefaultValue List<Double> percentiles) {
+}
@@ -0,0 +1,16 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "car-service.pagination")
+public record PaginationProperties(@DefaultValue("50") int defaultPageSize,
+                                   @DefaultValue("500") int maxPageSize) {
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.clamp(requested, 1, maxPageSize);
+    }
+}
@@ -0,0 +1,11 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "car-service.expiry-scan", name = "enabled", havingValue = "true")
+public class SchedulingConfig {
+}
@@ -0,0 +1,43 @@
+package dev.milgodyn.carservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.milgodyn.carservice.common.ServerTimingFilter;
+import dev.milgodyn.carservice.common.SqlStatementCountFilter;
+import dev.milgodyn.carservice.common.TimedJackson2HttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Wraps the {@link ServerTimingFilter}, so that the logs of slow requests include their span tree.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(ServerTimingProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(new SqlStatementCountFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties properties) {
+        var registration = new FilterRegistrationBean<>(new ServerTimingFilter(properties));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Replaces the auto-configured JSON converter, so that writing response bodies shows up in the
+     * {@code Server-Timing} header.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "car-service.server-timing")
+public record ServerTimingProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("500ms") Duration slowRequestThreshold,
+                                     @DefaultValue("false") boolean sqlStatementCountHeader) {
+}
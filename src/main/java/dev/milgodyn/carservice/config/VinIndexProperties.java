@@ -0,0 +1,15 @@
+package dev.milgodyn.carservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the {@link dev.milgodyn.carservice.service.VinIndex}. Off by default: the index only
+ * learns about writes made through the same instance, so it must stay disabled when several instances
+ * or other clients write to the {@code car} table.
+ */
+@ConfigurationProperties(prefix = "car-service.vin-index")
+public record VinIndexProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("1000000") long expectedInsertions,
+                                 @DefaultValue("0.01") double falsePositiveProbability) {
+}
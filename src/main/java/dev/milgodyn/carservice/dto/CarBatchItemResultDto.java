@@ -0,0 +1,15 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({
+        "index",
+        "vin",
+        "status",
+        "error"
+})
+public record CarBatchItemResultDto(int index,
+                                    String vin,
+                                    CarBatchItemStatus status,
+                                    String error) {
+}
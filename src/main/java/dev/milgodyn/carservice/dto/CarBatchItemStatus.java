@@ -0,0 +1,7 @@
+package dev.milgodyn.carservice.dto;
+
+public enum CarBatchItemStatus {
+    CREATED,
+    CONFLICT,
+    INVALID
+}
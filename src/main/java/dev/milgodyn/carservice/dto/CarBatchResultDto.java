@@ -0,0 +1,32 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+@JsonPropertyOrder({
+        "created",
+        "conflicts",
+        "invalid",
+        "items"
+})
+public record CarBatchResultDto(long created,
+                                long conflicts,
+                                long invalid,
+                                List<CarBatchItemResultDto> items) {
+
+    public static CarBatchResultDto of(List<CarBatchItemResultDto> items) {
+        return new CarBatchResultDto(
+                count(items, CarBatchItemStatus.CREATED),
+                count(items, CarBatchItemStatus.CONFLICT),
+                count(items, CarBatchItemStatus.INVALID),
+                items
+        );
+    }
+
+    private static long count(List<CarBatchItemResultDto> items, CarBatchItemStatus status) {
+        return items.stream()
+                .filter(item -> item.status() == status)
+                .count();
+    }
+}
@@ -2,6 +2,8 @@ package dev.milgodyn.carservice.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.milgodyn.carservice.persistence.type.FuelType;
 import dev.milgodyn.carservice.persistence.type.TransmissionType;
 import jakarta.validation.constraints.*;
@@ -27,6 +29,8 @@ import java.time.LocalDateTime;
         "technical_inspection_expiration_date",
         "created"
 })
+@JsonSerialize(using = CarDtoSerializer.class)
+@JsonDeserialize(using = CarDtoDeserializer.class)
 public record CarDto(@NotBlank String vin,
                      @NotBlank String brand,
                      @NotBlank String model,
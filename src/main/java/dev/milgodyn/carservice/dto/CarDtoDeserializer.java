@@ -0,0 +1,187 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reads a {@link CarDto} in a single pass over its properties, without the reflective record creator.
+ * Values of the expected token type are read directly, ISO dates and date-times are parsed without
+ * a {@code DateTimeFormatter}; anything else is handed over to the deserializer Jackson would have
+ * used, so coercions, lenient date formats and error messages stay the same. Unknown properties are
+ * handled as configured.
+ */
+public final class CarDtoDeserializer extends StdDeserializer<CarDto> {
+
+    public CarDtoDeserializer() {
+        super(CarDto.class);
+    }
+
+    @Override
+    public CarDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else {
+            return (CarDto) ctxt.handleUnexpectedToken(CarDto.class, p);
+        }
+
+        String vin = null;
+        String brand = null;
+        String model = null;
+        Integer productionYear = null;
+        Integer mileage = null;
+        FuelType fuelType = null;
+        Double engineCapacity = null;
+        String color = null;
+        TransmissionType transmission = null;
+        String owner = null;
+        Double price = null;
+        String registrationNumber = null;
+        LocalDate registrationDate = null;
+        LocalDate insuranceExpirationDate = null;
+        LocalDate technicalInspectionExpirationDate = null;
+        LocalDateTime created = null;
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            switch (name) {
+                case "vin" -> vin = readString(p, ctxt);
+                case "brand" -> brand = readString(p, ctxt);
+                case "model" -> model = readString(p, ctxt);
+                case "production_year" -> productionYear = readInteger(p, ctxt);
+                case "mileage" -> mileage = readInteger(p, ctxt);
+                case "fuel_type" -> fuelType = p.hasToken(JsonToken.VALUE_STRING)
+                        ? FuelType.fromValue(p.getText())
+                        : readOther(p, ctxt, FuelType.class);
+                case "engine_capacity" -> engineCapacity = readDouble(p, ctxt);
+                case "color" -> color = readString(p, ctxt);
+                case "transmission" -> transmission = p.hasToken(JsonToken.VALUE_STRING)
+                        ? TransmissionType.fromValue(p.getText())
+                        : readOther(p, ctxt, TransmissionType.class);
+                case "owner" -> owner = readString(p, ctxt);
+                case "price" -> price = readDouble(p, ctxt);
+                case "registration_number" -> registrationNumber = readString(p, ctxt);
+                case "registration_date" -> registrationDate = readDate(p, ctxt);
+                case "insurance_expiration_date" -> insuranceExpirationDate = readDate(p, ctxt);
+                case "technical_inspection_expiration_date" -> technicalInspectionExpirationDate = readDate(p, ctxt);
+                case "created" -> created = readDateTime(p, ctxt);
+                default -> ctxt.handleUnknownProperty(p, this, CarDto.class, name);
+            }
+        }
+        return new CarDto(vin, brand, model, productionYear, mileage, fuelType, engineCapacity, color, transmission,
+                owner, price, registrationNumber, registrationDate, insuranceExpirationDate,
+                technicalInspectionExpirationDate, created);
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_STRING) ? p.getText() : readOther(p, ctxt, String.class);
+    }
+
+    private static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getIntValue() : readOther(p, ctxt, Integer.class);
+    }
+
+    private static Double readDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_FLOAT) || p.hasToken(JsonToken.VALUE_NUMBER_INT)
+                ? p.getDoubleValue()
+                : readOther(p, ctxt, Double.class);
+    }
+
+    private static LocalDate readDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            var date = parseDate(p.getText());
+            if (date != null) {
+                return date;
+            }
+        }
+        return readOther(p, ctxt, LocalDate.class);
+    }
+
+    private static LocalDateTime readDateTime(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            var dateTime = parseDateTime(p.getText());
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        return readOther(p, ctxt, LocalDateTime.class);
+    }
+
+    private static <T> T readOther(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, type);
+    }
+
+    /**
+     * Parses a valid {@code yyyy-MM-dd} date, or returns {@code null} for anything else.
+     */
+    static LocalDate parseDate(String text) {
+        return text.length() == 10 ? parseDate(text, 0) : null;
+    }
+
+    private static LocalDate parseDate(String text, int offset) {
+        if (text.charAt(offset + 4) != '-' || text.charAt(offset + 7) != '-') {
+            return null;
+        }
+        var year = parseDigits(text, offset, offset + 4);
+        var month = parseDigits(text, offset + 5, offset + 7);
+        var day = parseDigits(text, offset + 8, offset + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a valid {@code yyyy-MM-ddTHH:mm:ss} date-time with an optional fraction of up to nine
+     * digits, or returns {@code null} for anything else.
+     */
+    static LocalDateTime parseDateTime(String text) {
+        var length = text.length();
+        if (length < 19 || length == 20 || length > 29 || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':' || length > 19 && text.charAt(19) != '.') {
+            return null;
+        }
+        var date = parseDate(text, 0);
+        var hour = parseDigits(text, 11, 13);
+        var minute = parseDigits(text, 14, 16);
+        var second = parseDigits(text, 17, 19);
+        var fraction = length > 19 ? parseDigits(text, 20, length) : 0;
+        if (date == null || hour < 0 || minute < 0 || second < 0 || fraction < 0) {
+            return null;
+        }
+        for (var i = length; i < 29; i++) {
+            fraction *= 10;
+        }
+        try {
+            return date.atTime(hour, minute, second, fraction);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int parseDigits(String text, int from, int to) {
+        var value = 0;
+        for (var i = from; i < to; i++) {
+            var digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,171 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a {@link CarDto} field by field with pre-encoded property names, in the order of its
+ * {@code @JsonPropertyOrder}. Dates are formatted as ISO strings straight into a small character
+ * buffer instead of through a {@code DateTimeFormatter}; when dates are configured to be written as
+ * timestamps, they are handed over to the registered Java time serializers instead. The output is
+ * the same as that of Jackson's bean serializer.
+ */
+public final class CarDtoSerializer extends StdSerializer<CarDto> {
+
+    static final SerializableString VIN = new SerializedString("vin");
+    static final SerializableString BRAND = new SerializedString("brand");
+    static final SerializableString MODEL = new SerializedString("model");
+    static final SerializableString PRODUCTION_YEAR = new SerializedString("production_year");
+    static final SerializableString MILEAGE = new SerializedString("mileage");
+    static final SerializableString FUEL_TYPE = new SerializedString("fuel_type");
+    static final SerializableString ENGINE_CAPACITY = new SerializedString("engine_capacity");
+    static final SerializableString COLOR = new SerializedString("color");
+    static final SerializableString TRANSMISSION = new SerializedString("transmission");
+    static final SerializableString OWNER = new SerializedString("owner");
+    static final SerializableString PRICE = new SerializedString("price");
+    static final SerializableString REGISTRATION_NUMBER = new SerializedString("registration_number");
+    static final SerializableString REGISTRATION_DATE = new SerializedString("registration_date");
+    static final SerializableString INSURANCE_EXPIRATION_DATE = new SerializedString("insurance_expiration_date");
+    static final SerializableString TECHNICAL_INSPECTION_EXPIRATION_DATE = new SerializedString("technical_inspection_expiration_date");
+    static final SerializableString CREATED = new SerializedString("created");
+
+    private static final int DATE_LENGTH = 10;
+    private static final int DATE_TIME_LENGTH = 29;
+
+    public CarDtoSerializer() {
+        super(CarDto.class);
+    }
+
+    @Override
+    public void serialize(CarDto car, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        var buffer = new char[DATE_TIME_LENGTH];
+        var datesAsTimestamps = provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        gen.writeStartObject(car);
+        writeString(gen, VIN, car.vin());
+        writeString(gen, BRAND, car.brand());
+        writeString(gen, MODEL, car.model());
+        writeNumber(gen, PRODUCTION_YEAR, car.productionYear());
+        writeNumber(gen, MILEAGE, car.mileage());
+        writeString(gen, FUEL_TYPE, car.fuelType() == null ? null : car.fuelType().name());
+        writeNumber(gen, ENGINE_CAPACITY, car.engineCapacity());
+        writeString(gen, COLOR, car.color());
+        writeString(gen, TRANSMISSION, car.transmission() == null ? null : car.transmission().name());
+        writeString(gen, OWNER, car.owner());
+        writeNumber(gen, PRICE, car.price());
+        writeString(gen, REGISTRATION_NUMBER, car.registrationNumber());
+        writeDate(gen, provider, REGISTRATION_DATE, car.registrationDate(), datesAsTimestamps, buffer);
+        writeDate(gen, provider, INSURANCE_EXPIRATION_DATE, car.insuranceExpirationDate(), datesAsTimestamps, buffer);
+        writeDate(gen, provider, TECHNICAL_INSPECTION_EXPIRATION_DATE, car.technicalInspectionExpirationDate(), datesAsTimestamps, buffer);
+        writeDateTime(gen, provider, car.created(), datesAsTimestamps, buffer);
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    private static void writeDate(JsonGenerator gen, SerializerProvider provider, SerializableString name, LocalDate value,
+                                  boolean asTimestamp, char[] buffer) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (asTimestamp || !isFourDigitYear(value.getYear())) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(buffer, 0, formatDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), buffer));
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializerProvider provider, LocalDateTime value,
+                                      boolean asTimestamp, char[] buffer) throws IOException {
+        gen.writeFieldName(CREATED);
+        if (value == null) {
+            gen.writeNull();
+        } else if (asTimestamp || !isFourDigitYear(value.getYear())) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(buffer, 0, formatDateTime(value, buffer));
+        }
+    }
+
+    /**
+     * Writes {@code yyyy-MM-dd} to the start of {@code buffer} and returns its length.
+     */
+    static int formatDate(int year, int month, int day, char[] buffer) {
+        writeDigits(year, 4, buffer, 0);
+        buffer[4] = '-';
+        writeDigits(month, 2, buffer, 5);
+        buffer[7] = '-';
+        writeDigits(day, 2, buffer, 8);
+        return DATE_LENGTH;
+    }
+
+    /**
+     * Writes {@code yyyy-MM-ddTHH:mm:ss} followed by the fraction of the second without trailing
+     * zeros, like {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME}, and returns its length.
+     */
+    static int formatDateTime(LocalDateTime value, char[] buffer) {
+        var length = formatDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), buffer);
+        buffer[length] = 'T';
+        writeDigits(value.getHour(), 2, buffer, length + 1);
+        buffer[length + 3] = ':';
+        writeDigits(value.getMinute(), 2, buffer, length + 4);
+        buffer[length + 6] = ':';
+        writeDigits(value.getSecond(), 2, buffer, length + 7);
+        length += 9;
+        var nano = value.getNano();
+        if (nano == 0) {
+            return length;
+        }
+        var digits = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            digits--;
+        }
+        buffer[length] = '.';
+        writeDigits(nano, digits, buffer, length + 1);
+        return length + 1 + digits;
+    }
+
+    private static boolean isFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+
+    private static void writeDigits(int value, int digits, char[] buffer, int offset) {
+        for (var i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+
+import java.time.LocalDate;
+
+@JsonPropertyOrder({
+        "vin",
+        "document",
+        "expiration_date",
+        "owner",
+        "registration_number"
+})
+public record CarExpiryDto(String vin,
+                           CarDocument document,
+                           @JsonProperty("expiration_date") LocalDate expirationDate,
+                           String owner,
+                           @JsonProperty("registration_number") String registrationNumber) {
+
+    public static CarExpiryDto of(CarDocument document, CarExpiry expiry) {
+        return new CarExpiryDto(expiry.vin(), document, expiry.expirationDate(), expiry.owner(), expiry.registrationNumber());
+    }
+}
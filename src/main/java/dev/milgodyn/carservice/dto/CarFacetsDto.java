@@ -0,0 +1,18 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.SortedMap;
+
+@JsonPropertyOrder({
+        "brand",
+        "fuel_type",
+        "transmission",
+        "production_year"
+})
+public record CarFacetsDto(SortedMap<String, Long> brand,
+                           @JsonProperty("fuel_type") SortedMap<String, Long> fuelType,
+                           SortedMap<String, Long> transmission,
+                           @JsonProperty("production_year") SortedMap<Integer, Long> productionYear) {
+}
@@ -0,0 +1,18 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page of cars reduced to the requested fields, each keyed by its JSON property name.
+ */
+@JsonPropertyOrder({
+        "items",
+        "next_cursor"
+})
+public record CarFieldsPageDto(List<Map<String, Object>> items,
+                               @JsonProperty("next_cursor") String nextCursor) {
+}
@@ -0,0 +1,16 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({
+        "group",
+        "count",
+        "average_price",
+        "average_mileage"
+})
+public record CarGroupStatsDto(String group,
+                               long count,
+                               @JsonProperty("average_price") Double averagePrice,
+                               @JsonProperty("average_mileage") Double averageMileage) {
+}
@@ -0,0 +1,13 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+@JsonPropertyOrder({
+        "cars",
+        "missing"
+})
+public record CarLookupResultDto(List<CarDto> cars,
+                                 List<String> missing) {
+}
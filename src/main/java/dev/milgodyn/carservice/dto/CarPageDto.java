@@ -0,0 +1,14 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+@JsonPropertyOrder({
+        "items",
+        "next_cursor"
+})
+public record CarPageDto(List<CarDto> items,
+                         @JsonProperty("next_cursor") String nextCursor) {
+}
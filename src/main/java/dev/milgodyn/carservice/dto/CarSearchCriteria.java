@@ -0,0 +1,21 @@
+package dev.milgodyn.carservice.dto;
+
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+
+/**
+ * Filters of a car search. Every filter is optional and {@code null} means "any"; ranges are
+ * inclusive and may be open on either side.
+ */
+public record CarSearchCriteria(String brand,
+                                String model,
+                                FuelType fuelType,
+                                TransmissionType transmission,
+                                Integer productionYearFrom,
+                                Integer productionYearTo,
+                                Double priceFrom,
+                                Double priceTo,
+                                Integer mileageFrom,
+                                Integer mileageTo,
+                                String owner) {
+}
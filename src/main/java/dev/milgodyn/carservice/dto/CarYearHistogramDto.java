@@ -0,0 +1,16 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.SortedMap;
+
+/**
+ * Number of cars per production year within one group, in ascending year order.
+ */
+@JsonPropertyOrder({
+        "group",
+        "years"
+})
+public record CarYearHistogramDto(String group,
+                                  SortedMap<Integer, Long> years) {
+}
@@ -1,6 +1,14 @@
 package dev.milgodyn.carservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.time.LocalDateTime;
 
+@JsonPropertyOrder({
+        "timestamp",
+        "status",
+        "error",
+        "path"
+})
 public record ErrorResponse(LocalDateTime timestamp, int status, String error, String path) {
 }
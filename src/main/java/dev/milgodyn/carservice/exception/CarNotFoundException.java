@@ -1,8 +1,12 @@
 package dev.milgodyn.carservice.exception;
 
+/**
+ * Thrown for every lookup of an unknown VIN. It is part of the regular request flow, so it skips
+ * filling in a stack trace.
+ */
 public class CarNotFoundException extends RuntimeException {
 
     public CarNotFoundException(String vin) {
-        super("Car with VIN='%s' could not be found".formatted(vin));
+        super("Car with VIN='%s' could not be found".formatted(vin), null, false, false);
     }
 }
@@ -18,7 +18,7 @@ public class ExceptionResolver {
 
     @ExceptionHandler(InvalidPropertyValueException.class)
     public ResponseEntity<ErrorResponse> handleInvalidPropertyValue(HttpServletRequest request, InvalidPropertyValueException e) {
-        log.info(e.getMessage());
+        log.info("Invalid property value: {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(
@@ -32,7 +32,7 @@ public class ExceptionResolver {
 
     @ExceptionHandler(CarNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleCarNotFound(HttpServletRequest request, CarNotFoundException e) {
-        log.info(e.getMessage());
+        log.info("Car not found: {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(
@@ -47,7 +47,7 @@ public class ExceptionResolver {
 
     @ExceptionHandler(CarAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleCarAlreadyExistsException(HttpServletRequest request, CarAlreadyExistsException e) {
-        log.info(e.getMessage());
+        log.info("Car already exists: {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
                 .body(
@@ -62,7 +62,7 @@ public class ExceptionResolver {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(HttpServletRequest request, MethodArgumentNotValidException e) {
-        log.info(e.getMessage());
+        log.info("Invalid request parameters: {}", e.getMessage());
 
         var invalidFields = e.getBindingResult().getFieldErrors()
                 .stream()
@@ -82,7 +82,7 @@ public class ExceptionResolver {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(HttpServletRequest request, Exception e) {
-        log.error("Unexpected exception! %s".formatted(e.getMessage()));
+        log.error("Unexpected exception! {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(
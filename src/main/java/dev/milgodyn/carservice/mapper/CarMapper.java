@@ -1,7 +1,9 @@
 package dev.milgodyn.carservice.mapper;
 
 import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.dto.CarGroupStatsDto;
 import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarGroupStats;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -10,13 +12,17 @@ import java.util.List;
 public interface CarMapper {
 
     @Mapping(target = "created", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CarEntity toEntity(CarDto dto);
 
     CarDto toDto(CarEntity entity);
 
     List<CarDto> toDtoList(List<CarEntity> entities);
 
+    List<CarGroupStatsDto> toGroupStatsDtoList(List<CarGroupStats> stats);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "created", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateCarFromDto(CarDto dto, @MappingTarget CarEntity entity);
 }
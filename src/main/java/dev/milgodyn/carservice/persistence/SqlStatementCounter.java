@@ -0,0 +1,28 @@
+package dev.milgodyn.carservice.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread. The count only ever grows, so callers
+ * take the difference of two {@link #count()} readings around the work they want to measure. A JDBC
+ * batch counts once, as its statement is prepared once.
+ * <p>
+ * Registered through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Returns the number of statements prepared by the current thread so far.
+     */
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,50 @@
+package dev.milgodyn.carservice.persistence.converter;
+
+import dev.milgodyn.carservice.persistence.type.CodedEnum;
+import jakarta.persistence.AttributeConverter;
+
+import java.lang.reflect.Array;
+
+/**
+ * Stores a {@link CodedEnum} as its {@code smallint} code. Codes are decoded through an array indexed
+ * by code, so reading a row costs no name comparison.
+ */
+abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+
+    private final Class<E> enumClass;
+    private final E[] byCode;
+
+    @SuppressWarnings("unchecked")
+    protected CodedEnumConverter(Class<E> enumClass) {
+        this.enumClass = enumClass;
+        var constants = enumClass.getEnumConstants();
+        var maxCode = 0;
+        for (var constant : constants) {
+            maxCode = Math.max(maxCode, constant.getCode());
+        }
+        this.byCode = (E[]) Array.newInstance(enumClass, maxCode + 1);
+        for (var constant : constants) {
+            if (constant.getCode() <= 0 || byCode[constant.getCode()] != null) {
+                throw new IllegalStateException("Invalid or duplicate code %d of %s.%s"
+                        .formatted(constant.getCode(), enumClass.getSimpleName(), constant.name()));
+            }
+            byCode[constant.getCode()] = constant;
+        }
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        if (code <= 0 || code >= byCode.length || byCode[code] == null) {
+            throw new IllegalArgumentException("Unknown %s code: %d".formatted(enumClass.getSimpleName(), code));
+        }
+        return byCode[code];
+    }
+}
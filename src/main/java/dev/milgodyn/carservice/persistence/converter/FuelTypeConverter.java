@@ -0,0 +1,12 @@
+package dev.milgodyn.carservice.persistence.converter;
+
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import jakarta.persistence.Converter;
+
+@Converter
+public class FuelTypeConverter extends CodedEnumConverter<FuelType> {
+
+    public FuelTypeConverter() {
+        super(FuelType.class);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.milgodyn.carservice.persistence.converter;
+
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TransmissionTypeConverter extends CodedEnumConverter<TransmissionType> {
+
+    public TransmissionTypeConverter() {
+        super(TransmissionType.class);
+    }
+}
@@ -1,5 +1,7 @@
 package dev.milgodyn.carservice.persistence.entity;
 
+import dev.milgodyn.carservice.persistence.converter.FuelTypeConverter;
+import dev.milgodyn.carservice.persistence.converter.TransmissionTypeConverter;
 import dev.milgodyn.carservice.persistence.type.FuelType;
 import dev.milgodyn.carservice.persistence.type.TransmissionType;
 import jakarta.persistence.*;
@@ -10,7 +12,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "car")
+@Table(name = "car", indexes = {
+        @Index(name = "idx_car_created_vin", columnList = "created, vin"),
+        @Index(name = "idx_car_production_year_vin", columnList = "production_year, vin"),
+        @Index(name = "idx_car_brand_model_production_year", columnList = "brand, model, production_year"),
+        @Index(name = "idx_car_fuel_type_transmission_price", columnList = "fuel_type, transmission, price"),
+        @Index(name = "idx_car_owner", columnList = "owner"),
+        @Index(name = "idx_car_price", columnList = "price"),
+        @Index(name = "idx_car_mileage", columnList = "mileage"),
+        @Index(name = "idx_car_insurance_expiration_date_vin", columnList = "insurance_expiration_date, vin"),
+        @Index(name = "idx_car_technical_inspection_expiration_date_vin", columnList = "technical_inspection_expiration_date, vin")
+})
 @Getter
 @Setter
 public class CarEntity {
@@ -31,8 +43,8 @@ public class CarEntity {
     @Column(nullable = false)
     private int mileage;
 
-    @Column(nullable = false, length = 20)
-    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Convert(converter = FuelTypeConverter.class)
     private FuelType fuelType;
 
     @Column(nullable = false)
@@ -41,8 +53,8 @@ public class CarEntity {
     @Column(nullable = false, length = 30)
     private String color;
 
-    @Column(nullable = false, length = 30)
-    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Convert(converter = TransmissionTypeConverter.class)
     private TransmissionType transmission;
 
     @Column(nullable = false, length = 100)
@@ -61,4 +73,8 @@ public class CarEntity {
 
     @Column(nullable = false)
     private LocalDateTime created;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
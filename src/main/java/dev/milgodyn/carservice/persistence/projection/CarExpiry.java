@@ -0,0 +1,9 @@
+package dev.milgodyn.carservice.persistence.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Columns of a car that are reported when one of its documents is about to expire.
+ */
+public record CarExpiry(String vin, String owner, String registrationNumber, LocalDate expirationDate) {
+}
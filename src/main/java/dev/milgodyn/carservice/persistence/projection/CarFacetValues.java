@@ -0,0 +1,15 @@
+package dev.milgodyn.carservice.persistence.projection;
+
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+
+/**
+ * The columns of a car that facet counts are kept for.
+ */
+public record CarFacetValues(String brand, FuelType fuelType, TransmissionType transmission, int productionYear) {
+
+    public static CarFacetValues of(CarEntity car) {
+        return new CarFacetValues(car.getBrand(), car.getFuelType(), car.getTransmission(), car.getProductionYear());
+    }
+}
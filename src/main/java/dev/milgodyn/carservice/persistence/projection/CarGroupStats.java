@@ -0,0 +1,8 @@
+package dev.milgodyn.carservice.persistence.projection;
+
+/**
+ * Aggregates over one group of cars; {@code group} is {@code null} when the whole table is aggregated.
+ * Averages are {@code null} for groups without any value.
+ */
+public record CarGroupStats(String group, long count, Double averagePrice, Double averageMileage) {
+}
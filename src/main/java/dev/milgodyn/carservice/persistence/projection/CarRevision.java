@@ -0,0 +1,16 @@
+package dev.milgodyn.carservice.persistence.projection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Identifies one state of a car row: {@code created} tells apart cars re-created under the same VIN,
+ * {@code version} changes on every update.
+ */
+public record CarRevision(LocalDateTime created, long version) {
+
+    public String toEtag() {
+        var createdNanos = created.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + created.getNano();
+        return "\"%x-%x\"".formatted(createdNanos, version);
+    }
+}
@@ -0,0 +1,8 @@
+package dev.milgodyn.carservice.persistence.projection;
+
+/**
+ * Number of cars of one group produced in one year; {@code group} is {@code null} when the whole
+ * table is counted.
+ */
+public record CarYearCount(String group, int productionYear, long count) {
+}
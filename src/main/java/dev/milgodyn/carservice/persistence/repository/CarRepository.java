@@ -1,7 +1,73 @@
 package dev.milgodyn.carservice.persistence.repository;
 
 import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarFacetValues;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface CarRepository extends JpaRepository<CarEntity, String> {
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface CarRepository extends JpaRepository<CarEntity, String>, JpaSpecificationExecutor<CarEntity>, CarRepositoryCustom {
+
+    Window<CarEntity> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Deletes a car with a single DELETE statement, without loading it into the persistence context.
+     *
+     * @return the number of deleted rows, {@code 0} when no car has the given VIN
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from CarEntity c where c.vin = :vin")
+    int deleteByVin(String vin);
+
+    /**
+     * Selects the facet columns of one car and locks its row until the end of the transaction, so
+     * that a following patch or delete in the same transaction changes exactly the values read here.
+     * Must be called inside a transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new dev.milgodyn.carservice.persistence.projection.CarFacetValues(c.brand, c.fuelType, c.transmission, c.productionYear) from CarEntity c where c.vin = :vin")
+    Optional<CarFacetValues> findFacetValuesForUpdateByVin(String vin);
+
+    @Query("select c.vin from CarEntity c where c.vin in :vins")
+    Set<String> findExistingVins(Collection<String> vins);
+
+    /**
+     * Streams the whole table through a forward-only cursor. Must be consumed inside a transaction
+     * and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from CarEntity c")
+    Stream<CarEntity> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select c.vin from CarEntity c")
+    Stream<String> streamAllVins();
+
+    /**
+     * Streams the facet columns of the whole table. Must be consumed inside a transaction and closed
+     * afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new dev.milgodyn.carservice.persistence.projection.CarFacetValues(c.brand, c.fuelType, c.transmission, c.productionYear) from CarEntity c")
+    Stream<CarFacetValues> streamAllFacetValues();
 }
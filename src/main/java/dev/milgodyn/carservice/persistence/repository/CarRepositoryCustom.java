@@ -0,0 +1,78 @@
+package dev.milgodyn.carservice.persistence.repository;
+
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.projection.CarGroupStats;
+import dev.milgodyn.carservice.persistence.projection.CarYearCount;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface CarRepositoryCustom {
+
+    /**
+     * Inserts a new car with a single INSERT statement. Unlike {@code save}, it never merges, so no
+     * SELECT is issued for the assigned VIN; a taken VIN surfaces as a unique constraint violation.
+     */
+    void insert(CarEntity car);
+
+    /**
+     * Inserts new cars with plain {@code persist} calls, so that Hibernate sends them as JDBC batches
+     * without selecting each assigned VIN first. The persistence context is flushed and cleared after
+     * every batch.
+     */
+    void persistAll(Collection<CarEntity> cars);
+
+    /**
+     * Sets the given attributes of one car with a single UPDATE that lists only those columns and
+     * bumps the version, without loading the row first. Keys are {@link CarEntity} attribute names.
+     *
+     * @return the number of updated rows, {@code 0} when no car has the given VIN
+     */
+    int patch(String vin, Map<String, Object> changes);
+
+    /**
+     * Counts cars and averages their price and mileage with a single {@code GROUP BY} query, ordered
+     * by group. A {@code null} {@code groupBy} aggregates the whole table into one row.
+     */
+    List<CarGroupStats> aggregate(CarGroupField groupBy);
+
+    /**
+     * Counts cars per group and production year with a single {@code GROUP BY} query, ordered by
+     * group and year. A {@code null} {@code groupBy} counts per year only.
+     */
+    List<CarYearCount> countByProductionYear(CarGroupField groupBy);
+
+    /**
+     * Returns up to {@code limit} cars whose {@code document} expires between {@code from} and
+     * {@code to}, both inclusive, ordered by expiration date and VIN. When {@code afterDate} and
+     * {@code afterVin} are given, the result continues right after that row, so consecutive calls
+     * walk the expiration date index without an offset and without a long-running transaction.
+     */
+    List<CarExpiry> findExpiring(CarDocument document, LocalDate from, LocalDate to,
+                                 LocalDate afterDate, String afterVin, int limit);
+
+    /**
+     * Selects only the columns of the given fields of one car with a tuple query, without loading
+     * the entity.
+     */
+    Optional<Map<CarField, Object>> findFieldsByVin(String vin, Set<CarField> fields);
+
+    /**
+     * Selects only the columns of the given fields of up to {@code limit} cars ordered by
+     * {@code sort} and VIN. When {@code afterVin} is given, the result continues right after the row
+     * with that VIN and the sort value {@code afterValue}. {@code fields} must contain the sort field
+     * and the VIN for the caller to build the next position.
+     */
+    List<Map<CarField, Object>> findFields(Set<CarField> fields, CarSortField sort, Sort.Direction direction,
+                                           Object afterValue, String afterVin, int limit);
+}
@@ -0,0 +1,220 @@
+package dev.milgodyn.carservice.persistence.repository;
+
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.projection.CarGroupStats;
+import dev.milgodyn.carservice.persistence.projection.CarYearCount;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class CarRepositoryCustomImpl implements CarRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void insert(CarEntity car) {
+        entityManager.persist(car);
+        entityManager.flush();
+    }
+
+    @Override
+    @Transactional
+    public void persistAll(Collection<CarEntity> cars) {
+        var pending = 0;
+        for (var car : cars) {
+            entityManager.persist(car);
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional
+    public int patch(String vin, Map<String, Object> changes) {
+        var builder = entityManager.getCriteriaBuilder();
+        var update = builder.createCriteriaUpdate(CarEntity.class);
+        var car = update.from(CarEntity.class);
+        changes.forEach(update::set);
+        update.set(car.<Long>get("version"), builder.sum(car.get("version"), 1L));
+        update.where(builder.equal(car.get("vin"), vin));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<CarGroupStats> aggregate(CarGroupField groupBy) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var car = query.from(CarEntity.class);
+        var selections = new ArrayList<Selection<?>>(List.of(
+                builder.count(car).alias("count"),
+                builder.avg(car.get("price")).alias("averagePrice"),
+                builder.avg(car.get("mileage")).alias("averageMileage")
+        ));
+        if (groupBy != null) {
+            Expression<?> group = car.get(groupBy.getAttribute());
+            selections.addFirst(group.alias("group"));
+            query.groupBy(group).orderBy(builder.asc(group));
+        }
+        query.multiselect(selections);
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(row -> new CarGroupStats(
+                        groupOf(row, groupBy),
+                        row.get("count", Long.class),
+                        row.get("averagePrice", Double.class),
+                        row.get("averageMileage", Double.class)))
+                .toList();
+    }
+
+    @Override
+    public List<CarYearCount> countByProductionYear(CarGroupField groupBy) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var car = query.from(CarEntity.class);
+        Expression<Integer> productionYear = car.get("productionYear");
+        var selections = new ArrayList<Selection<?>>(List.of(
+                productionYear.alias("productionYear"),
+                builder.count(car).alias("count")
+        ));
+        if (groupBy == null) {
+            query.groupBy(productionYear).orderBy(builder.asc(productionYear));
+        } else {
+            Expression<?> group = car.get(groupBy.getAttribute());
+            selections.addFirst(group.alias("group"));
+            query.groupBy(group, productionYear).orderBy(builder.asc(group), builder.asc(productionYear));
+        }
+        query.multiselect(selections);
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(row -> new CarYearCount(
+                        groupOf(row, groupBy),
+                        row.get("productionYear", Integer.class),
+                        row.get("count", Long.class)))
+                .toList();
+    }
+
+    @Override
+    public List<CarExpiry> findExpiring(CarDocument document, LocalDate from, LocalDate to,
+                                        LocalDate afterDate, String afterVin, int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(CarExpiry.class);
+        var car = query.from(CarEntity.class);
+        Expression<LocalDate> expirationDate = car.get(document.getAttribute());
+        Expression<String> vin = car.get("vin");
+        var predicates = new ArrayList<Predicate>(List.of(builder.between(expirationDate, from, to)));
+        if (afterDate != null && afterVin != null) {
+            predicates.add(builder.or(
+                    builder.greaterThan(expirationDate, afterDate),
+                    builder.and(builder.equal(expirationDate, afterDate), builder.greaterThan(vin, afterVin))
+            ));
+        }
+        query.select(builder.construct(CarExpiry.class, vin, car.get("owner"), car.get("registrationNumber"), expirationDate))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(expirationDate), builder.asc(vin));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Map<CarField, Object>> findFieldsByVin(String vin, Set<CarField> fields) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var car = query.from(CarEntity.class);
+        query.multiselect(selectionsOf(car, fields))
+                .where(builder.equal(car.get("vin"), vin));
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(row -> fieldsOf(row, fields));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map<CarField, Object>> findFields(Set<CarField> fields, CarSortField sort, Sort.Direction direction,
+                                                  Object afterValue, String afterVin, int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var car = query.from(CarEntity.class);
+        Expression<Comparable<Object>> sortKey = car.get(sort.getAttribute());
+        Expression<String> vin = car.get("vin");
+        var ascending = direction.isAscending();
+        if (afterVin != null) {
+            query.where(sort == CarSortField.VIN
+                    ? after(builder, vin, afterVin, ascending)
+                    : builder.or(
+                            after(builder, sortKey, (Comparable<Object>) afterValue, ascending),
+                            builder.and(builder.equal(sortKey, afterValue), after(builder, vin, afterVin, ascending))
+                    ));
+        }
+        var orders = sort == CarSortField.VIN
+                ? List.of(ascending ? builder.asc(vin) : builder.desc(vin))
+                : List.of(ascending ? builder.asc(sortKey) : builder.desc(sortKey), ascending ? builder.asc(vin) : builder.desc(vin));
+        query.multiselect(selectionsOf(car, fields))
+                .orderBy(orders);
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> fieldsOf(row, fields))
+                .toList();
+    }
+
+    private static List<Selection<?>> selectionsOf(Root<CarEntity> car, Set<CarField> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> car.get(field.getAttribute()).alias(field.name()))
+                .toList();
+    }
+
+    private static Map<CarField, Object> fieldsOf(Tuple row, Set<CarField> fields) {
+        var values = new EnumMap<CarField, Object>(CarField.class);
+        fields.forEach(field -> values.put(field, row.get(field.name())));
+        return values;
+    }
+
+    private static <T extends Comparable<? super T>> Predicate after(CriteriaBuilder builder, Expression<? extends T> key,
+                                                                     T value, boolean ascending) {
+        return ascending ? builder.greaterThan(key, value) : builder.lessThan(key, value);
+    }
+
+    private static String groupOf(Tuple row, CarGroupField groupBy) {
+        if (groupBy == null) {
+            return null;
+        }
+        var group = row.get("group");
+        return group instanceof Enum<?> constant ? constant.name() : (String) group;
+    }
+}
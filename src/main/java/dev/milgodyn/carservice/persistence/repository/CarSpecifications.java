@@ -0,0 +1,68 @@
+package dev.milgodyn.carservice.persistence.repository;
+
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Search filters over {@link CarEntity}. Each factory returns {@code null} when its value is absent,
+ * which {@link Specification#allOf} skips, so only the given filters end up in the WHERE clause.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CarSpecifications {
+
+    public static Specification<CarEntity> hasBrand(String brand) {
+        return equalTo("brand", brand);
+    }
+
+    public static Specification<CarEntity> hasModel(String model) {
+        return equalTo("model", model);
+    }
+
+    public static Specification<CarEntity> hasFuelType(FuelType fuelType) {
+        return equalTo("fuelType", fuelType);
+    }
+
+    public static Specification<CarEntity> hasTransmission(TransmissionType transmission) {
+        return equalTo("transmission", transmission);
+    }
+
+    public static Specification<CarEntity> hasOwner(String owner) {
+        return equalTo("owner", owner);
+    }
+
+    public static Specification<CarEntity> productionYearBetween(Integer from, Integer to) {
+        return between("productionYear", from, to);
+    }
+
+    public static Specification<CarEntity> priceBetween(Double from, Double to) {
+        return between("price", from, to);
+    }
+
+    public static Specification<CarEntity> mileageBetween(Integer from, Integer to) {
+        return between("mileage", from, to);
+    }
+
+    private static Specification<CarEntity> equalTo(String attribute, Object value) {
+        return value == null
+                ? null
+                : (car, query, builder) -> builder.equal(car.get(attribute), value);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<CarEntity> between(String attribute, T from, T to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (car, query, builder) -> {
+            if (from == null) {
+                return builder.lessThanOrEqualTo(car.get(attribute), to);
+            }
+            return to == null
+                    ? builder.greaterThanOrEqualTo(car.get(attribute), from)
+                    : builder.between(car.get(attribute), from, to);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package dev.milgodyn.carservice.persistence.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import dev.milgodyn.carservice.common.EnumUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Car documents whose expiration date is tracked.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CarDocument {
+    INSURANCE("insuranceExpirationDate"),
+    TECHNICAL_INSPECTION("technicalInspectionExpirationDate");
+
+    private final String attribute;
+
+    @JsonCreator
+    public static CarDocument fromValue(String value) {
+        return EnumUtils.fromValue(value, CarDocument.class, "document");
+    }
+}
@@ -0,0 +1,61 @@
+package dev.milgodyn.carservice.persistence.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import dev.milgodyn.carservice.common.EnumUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Car properties that a response can be narrowed down to with {@code ?fields=}, each with its JSON
+ * property name and the column attribute it is read from. Declared in the property order of a car.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CarField {
+    VIN("vin", "vin"),
+    BRAND("brand", "brand"),
+    MODEL("model", "model"),
+    PRODUCTION_YEAR("production_year", "productionYear"),
+    MILEAGE("mileage", "mileage"),
+    FUEL_TYPE("fuel_type", "fuelType"),
+    ENGINE_CAPACITY("engine_capacity", "engineCapacity"),
+    COLOR("color", "color"),
+    TRANSMISSION("transmission", "transmission"),
+    OWNER("owner", "owner"),
+    PRICE("price", "price"),
+    REGISTRATION_NUMBER("registration_number", "registrationNumber"),
+    REGISTRATION_DATE("registration_date", "registrationDate"),
+    INSURANCE_EXPIRATION_DATE("insurance_expiration_date", "insuranceExpirationDate"),
+    TECHNICAL_INSPECTION_EXPIRATION_DATE("technical_inspection_expiration_date", "technicalInspectionExpirationDate"),
+    CREATED("created", "created");
+
+    private final String property;
+    private final String attribute;
+
+    @JsonCreator
+    public static CarField fromValue(String value) {
+        return EnumUtils.fromValue(value, CarField.class, "fields");
+    }
+
+    /**
+     * Parses a comma-separated list of property names such as {@code vin,brand,price}.
+     */
+    public static Set<CarField> fromValues(String values) {
+        var fields = EnumSet.noneOf(CarField.class);
+        for (var value : values.split(",")) {
+            fields.add(fromValue(value.strip()));
+        }
+        return fields;
+    }
+
+    public static CarField of(CarSortField sort) {
+        return switch (sort) {
+            case VIN -> VIN;
+            case CREATED -> CREATED;
+            case PRODUCTION_YEAR -> PRODUCTION_YEAR;
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package dev.milgodyn.carservice.persistence.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import dev.milgodyn.carservice.common.EnumUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Columns that car statistics can be grouped by.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CarGroupField {
+    BRAND("brand"),
+    MODEL("model"),
+    FUEL_TYPE("fuelType");
+
+    private final String attribute;
+
+    @JsonCreator
+    public static CarGroupField fromValue(String value) {
+        return EnumUtils.fromValue(value, CarGroupField.class, "group_by");
+    }
+}
@@ -0,0 +1,25 @@
+package dev.milgodyn.carservice.persistence.type;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import dev.milgodyn.carservice.common.EnumUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Columns that car listings can be ordered by. Each of them is backed by an index, so keyset
+ * pagination over them never needs to scan or skip rows.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CarSortField {
+    VIN("vin"),
+    CREATED("created"),
+    PRODUCTION_YEAR("productionYear");
+
+    private final String attribute;
+
+    @JsonCreator
+    public static CarSortField fromValue(String value) {
+        return EnumUtils.fromValue(value, CarSortField.class, "sort");
+    }
+}
@@ -0,0 +1,11 @@
+package dev.milgodyn.carservice.persistence.type;
+
+/**
+ * Enum stored as a fixed small integer code rather than by name. Codes are part of the persisted
+ * data: they must stay unique within the enum and never be reused or renumbered, whereas constants
+ * can be renamed or reordered freely.
+ */
+public interface CodedEnum {
+
+    short getCode();
+}
@@ -2,12 +2,18 @@ package dev.milgodyn.carservice.persistence.type;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import dev.milgodyn.carservice.common.EnumUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
-public enum FuelType {
-    GASOLINE,
-    DIESEL,
-    ELECTRIC,
-    HYBRID;
+@Getter
+@RequiredArgsConstructor
+public enum FuelType implements CodedEnum {
+    GASOLINE((short) 1),
+    DIESEL((short) 2),
+    ELECTRIC((short) 3),
+    HYBRID((short) 4);
+
+    private final short code;
 
     @JsonCreator
     public static FuelType fromValue(String value) {
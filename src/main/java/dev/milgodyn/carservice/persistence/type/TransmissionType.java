@@ -2,10 +2,16 @@ package dev.milgodyn.carservice.persistence.type;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import dev.milgodyn.carservice.common.EnumUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
-public enum TransmissionType {
-    MANUAL,
-    AUTOMATIC;
+@Getter
+@RequiredArgsConstructor
+public enum TransmissionType implements CodedEnum {
+    MANUAL((short) 1),
+    AUTOMATIC((short) 2);
+
+    private final short code;
 
     @JsonCreator
     public static TransmissionType fromValue(String value) {
@@ -0,0 +1,41 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.dto.CarDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read-through cache of car details, together with their entity tags, keyed by VIN. Capacity and TTL come from
+ * {@code spring.cache.caffeine.spec}; hits, misses and evictions are published as {@code cache.*} metrics.
+ * Puts and evictions made inside a transaction only take effect after it has committed.
+ */
+@Component
+public class CarCache {
+
+    public static final String NAME = "cars";
+
+    private final Cache cache;
+
+    public CarCache(CacheManager cacheManager) {
+        this.cache = new TransactionAwareCacheDecorator(
+                Objects.requireNonNull(cacheManager.getCache(NAME), "Cache '%s' is not configured".formatted(NAME)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<Versioned<CarDto>> get(String vin) {
+        return Optional.ofNullable(cache.get(vin, Versioned.class));
+    }
+
+    public void put(Versioned<CarDto> car) {
+        cache.put(car.body().vin(), car);
+    }
+
+    public void evict(String vin) {
+        cache.evict(vin);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+
+/**
+ * Opaque continuation token of a keyset-paginated car listing. It carries the sort order and the
+ * key of the last returned row, so the next page is fetched with a plain index range scan.
+ * <p>
+ * The token is the URL-safe Base64 form of {@code sort|direction|vin} for VIN ordering and of
+ * {@code sort|direction|value|vin} otherwise; the VIN goes last as it is the only free-form part.
+ */
+record CarCursor(CarSortField sort, Sort.Direction direction, Object lastValue, String lastVin) {
+
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    static CarCursor after(CarEntity last, CarSortField sort, Sort.Direction direction) {
+        Object lastValue = switch (sort) {
+            case VIN -> last.getVin();
+            case CREATED -> last.getCreated();
+            case PRODUCTION_YEAR -> last.getProductionYear();
+        };
+        return new CarCursor(sort, direction, lastValue, last.getVin());
+    }
+
+    static Sort sortOf(CarSortField sort, Sort.Direction direction) {
+        var order = Sort.by(direction, sort.getAttribute());
+        return sort == CarSortField.VIN
+                ? order
+                : order.and(Sort.by(direction, CarSortField.VIN.getAttribute()));
+    }
+
+    static CarCursor decode(String token) {
+        try {
+            var decoded = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            var head = decoded.split("\\|", 3);
+            var sort = CarSortField.valueOf(head[0]);
+            var direction = Sort.Direction.valueOf(head[1]);
+            if (sort == CarSortField.VIN) {
+                return new CarCursor(sort, direction, head[2], head[2]);
+            }
+            var tail = head[2].split("\\|", 2);
+            Object lastValue = switch (sort) {
+                case CREATED -> LocalDateTime.parse(tail[0]);
+                case PRODUCTION_YEAR -> Integer.parseInt(tail[0]);
+                case VIN -> throw new IllegalStateException();
+            };
+            return new CarCursor(sort, direction, lastValue, tail[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidPropertyValueException(token, "cursor");
+        }
+    }
+
+    String encode() {
+        var raw = sort == CarSortField.VIN
+                ? String.join(SEPARATOR, sort.name(), direction.name(), lastVin)
+                : String.join(SEPARATOR, sort.name(), direction.name(), lastValue.toString(), lastVin);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    KeysetScrollPosition toScrollPosition() {
+        var keys = new LinkedHashMap<String, Object>();
+        keys.put(sort.getAttribute(), lastValue);
+        keys.put(CarSortField.VIN.getAttribute(), lastVin);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,46 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of a listing of expiring cars: the URL-safe Base64 form of
+ * {@code document|expirationDate|vin} of the last returned row.
+ */
+record CarExpiryCursor(CarDocument document, LocalDate lastDate, String lastVin) {
+
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    static CarExpiryCursor after(CarExpiry last, CarDocument document) {
+        return new CarExpiryCursor(document, last.expirationDate(), last.vin());
+    }
+
+    /**
+     * Decodes a token issued for the same {@code document}; tokens of another listing are rejected.
+     */
+    static CarExpiryCursor decode(String token, CarDocument document) {
+        try {
+            var parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+            var cursor = new CarExpiryCursor(CarDocument.valueOf(parts[0]), LocalDate.parse(parts[1]), parts[2]);
+            if (cursor.document() != document) {
+                throw new IllegalArgumentException();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidPropertyValueException(token, "cursor");
+        }
+    }
+
+    String encode() {
+        var raw = String.join(SEPARATOR, document.name(), lastDate.toString(), lastVin);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.config.ExpiryScanProperties;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reports every car with a document expiring within the configured number of days to the
+ * {@link CarExpirySink}. The cars are read in keyset batches of {@code batch-size} rows, each with its
+ * own short query, so neither memory use nor transaction length grows with the size of the table.
+ * <p>
+ * Runs on the {@code cron} schedule when {@code car-service.expiry-scan.enabled} is set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CarExpiryScanner {
+
+    private final CarRepository repository;
+    private final CarExpirySink sink;
+    private final ExpiryScanProperties properties;
+
+    @Scheduled(cron = "${car-service.expiry-scan.cron}")
+    public void scheduledScan() {
+        scan();
+    }
+
+    /**
+     * @return the number of reported documents
+     */
+    public long scan() {
+        var from = LocalDate.now();
+        var to = from.plusDays(properties.withinDays());
+        log.info("Attempting to scan for documents expiring between {} and {}...", from, to);
+        var reported = 0L;
+        try (var report = sink.open(from, to)) {
+            for (var document : CarDocument.values()) {
+                reported += scan(report, document, from, to);
+            }
+            report.complete();
+        }
+        log.info("Successfully scanned for expiring documents, reported {}", reported);
+        return reported;
+    }
+
+    private long scan(CarExpirySink.Report report, CarDocument document, LocalDate from, LocalDate to) {
+        var reported = 0L;
+        CarExpiry last = null;
+        List<CarExpiry> batch;
+        do {
+            batch = repository.findExpiring(document, from, to,
+                    last == null ? null : last.expirationDate(),
+                    last == null ? null : last.vin(),
+                    properties.batchSize());
+            if (!batch.isEmpty()) {
+                report.accept(batch.stream().map(car -> CarExpiryDto.of(document, car)).toList());
+                reported += batch.size();
+                last = batch.getLast();
+            }
+        } while (batch.size() == properties.batchSize());
+        return reported;
+    }
+}
@@ -0,0 +1,32 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Destination of the cars reported by {@link CarExpiryScanner}. Every scan {@link #open opens} its
+ * own {@link Report}, hands over the expiring cars in batches of bounded size, calls
+ * {@link Report#complete} once all of them were accepted and finally closes the report, also when
+ * the scan failed half-way. State of a scan therefore lives in its report, not in the sink.
+ */
+public interface CarExpirySink {
+
+    Report open(LocalDate from, LocalDate to);
+
+    interface Report extends AutoCloseable {
+
+        void accept(List<CarExpiryDto> batch);
+
+        /**
+         * Called after the last batch of a scan that did not fail.
+         */
+        default void complete() {
+        }
+
+        @Override
+        default void close() {
+        }
+    }
+}
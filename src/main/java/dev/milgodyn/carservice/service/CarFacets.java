@@ -0,0 +1,121 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.dto.CarFacetsDto;
+import dev.milgodyn.carservice.persistence.projection.CarFacetValues;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Number of cars per brand, fuel type, transmission and production year, kept in lock-free counters
+ * so that reading them never touches the database. The counters are filled by streaming the facet
+ * columns of the {@code car} table before the application starts serving requests and are then
+ * kept current by {@link CarService}, so they are only exact as long as every write to the table
+ * goes through this instance.
+ */
+@Slf4j
+@Component
+public class CarFacets implements SmartInitializingSingleton {
+
+    private final CarRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, LongAdder> brands = new ConcurrentHashMap<>();
+    private final Map<FuelType, LongAdder> fuelTypes = counters(FuelType.class);
+    private final Map<TransmissionType, LongAdder> transmissions = counters(TransmissionType.class);
+    private final Map<Integer, LongAdder> productionYears = new ConcurrentHashMap<>();
+
+    public CarFacets(CarRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        log.info("Building car facets...");
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var cars = repository.streamAllFacetValues()) {
+                cars.forEach(this::add);
+            }
+        });
+        log.info("Successfully built car facets for {} brands", brands.size());
+    }
+
+    public void add(CarFacetValues car) {
+        count(car, 1);
+    }
+
+    public void remove(CarFacetValues car) {
+        count(car, -1);
+    }
+
+    public void replace(CarFacetValues before, CarFacetValues after) {
+        if (!before.equals(after)) {
+            count(before, -1);
+            count(after, 1);
+        }
+    }
+
+    /**
+     * Returns the current non-zero counts. Each counter is read on its own, so a snapshot taken
+     * during concurrent writes may be off by the writes in flight.
+     */
+    public CarFacetsDto snapshot() {
+        return new CarFacetsDto(
+                snapshot(brands, Function.identity()),
+                snapshot(fuelTypes, FuelType::name),
+                snapshot(transmissions, TransmissionType::name),
+                snapshot(productionYears, Function.identity())
+        );
+    }
+
+    private void count(CarFacetValues car, long delta) {
+        counter(brands, car.brand()).add(delta);
+        fuelTypes.get(car.fuelType()).add(delta);
+        transmissions.get(car.transmission()).add(delta);
+        counter(productionYears, car.productionYear()).add(delta);
+    }
+
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+        var counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    /**
+     * Counters of an enum facet are created up front and never added later, so a plain
+     * {@link EnumMap} is safe to share between threads.
+     */
+    private static <E extends Enum<E>> Map<E, LongAdder> counters(Class<E> type) {
+        var counters = new EnumMap<E, LongAdder>(type);
+        for (var constant : type.getEnumConstants()) {
+            counters.put(constant, new LongAdder());
+        }
+        return counters;
+    }
+
+    private static <K, T extends Comparable<? super T>> SortedMap<T, Long> snapshot(Map<K, LongAdder> counters,
+                                                                                    Function<K, T> key) {
+        var snapshot = new TreeMap<T, Long>();
+        counters.forEach((value, counter) -> {
+            var count = counter.sum();
+            if (count > 0) {
+                snapshot.put(key.apply(value), count);
+            }
+        });
+        return snapshot;
+    }
+}
@@ -1,45 +1,285 @@
 package dev.milgodyn.carservice.service;
 
+import dev.milgodyn.carservice.config.BatchCreateProperties;
+import dev.milgodyn.carservice.config.LookupProperties;
+import dev.milgodyn.carservice.config.PaginationProperties;
+import dev.milgodyn.carservice.dto.CarBatchItemResultDto;
+import dev.milgodyn.carservice.dto.CarBatchItemStatus;
+import dev.milgodyn.carservice.dto.CarBatchResultDto;
 import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.dto.CarExpiryPageDto;
+import dev.milgodyn.carservice.dto.CarFacetsDto;
+import dev.milgodyn.carservice.dto.CarFieldsPageDto;
+import dev.milgodyn.carservice.dto.CarGroupStatsDto;
+import dev.milgodyn.carservice.dto.CarLookupResultDto;
+import dev.milgodyn.carservice.dto.CarPageDto;
+import dev.milgodyn.carservice.dto.CarSearchCriteria;
+import dev.milgodyn.carservice.dto.CarYearHistogramDto;
 import dev.milgodyn.carservice.exception.CarAlreadyExistsException;
 import dev.milgodyn.carservice.exception.CarNotFoundException;
+import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
 import dev.milgodyn.carservice.mapper.CarMapper;
 import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarFacetValues;
+import dev.milgodyn.carservice.persistence.projection.CarRevision;
 import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.repository.CarSpecifications;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
+/**
+ * Every operation that runs more than one statement, or maps entities to DTOs, has its own
+ * transaction, so a request holds a JDBC connection only while the service works with the database
+ * and never while the response is serialized. Reads run in read-only transactions, in which Hibernate
+ * skips dirty checking and entity snapshots and never flushes. Single-car reads that may be answered
+ * from the cache or the VIN index stay non-transactional, so that answering them does not check out a
+ * connection; their single query runs in Spring Data's own read-only transaction.
+ * <p>
+ * The cache, the VIN index removals and the facet counts are only changed once a write has committed.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CarService {
 
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final Set<String> FACET_ATTRIBUTES = Set.of("brand", "fuelType", "transmission", "productionYear");
+
     private final CarRepository repository;
     private final CarMapper mapper;
+    private final CarCache carCache;
+    private final VinIndex vinIndex;
+    private final CarFacets carFacets;
+    private final PaginationProperties paginationProperties;
+    private final BatchCreateProperties batchCreateProperties;
+    private final LookupProperties lookupProperties;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
 
+    @Transactional
     public CarDto create(CarDto dto) {
         log.info("Attempting to create car with VIN='{}'...", dto.vin());
-        if (repository.existsById(dto.vin())) {
-            throw new CarAlreadyExistsException(dto.vin());
-        }
         var entity = mapper.toEntity(dto);
-        entity.setCreated(LocalDateTime.now());
-        var savedEntity = repository.save(entity);
-        log.info("Successfully created car with VIN='{}'", savedEntity.getVin());
-        return mapper.toDto(savedEntity);
+        entity.setCreated(now());
+        try {
+            repository.insert(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateKey(e)) {
+                throw new CarAlreadyExistsException(dto.vin());
+            }
+            throw e;
+        }
+        vinIndex.add(entity.getVin());
+        afterCommit(() -> carFacets.add(CarFacetValues.of(entity)));
+        var car = mapper.toDto(entity);
+        carCache.put(new Versioned<>(car, revisionOf(entity).toEtag()));
+        log.info("Successfully created car with VIN='{}'", entity.getVin());
+        return car;
+    }
+
+    /**
+     * Creates every valid car of the batch whose VIN is not taken yet. Existing VINs are looked up in
+     * chunks of {@code chunk-size} and the inserts are sent as JDBC batches; the outcome is reported
+     * per item. A VIN inserted concurrently between the lookup and the inserts rolls the batch back,
+     * and it is retried, with that VIN then reported as a conflict.
+     */
+    public CarBatchResultDto createBatch(List<CarDto> dtos) {
+        log.info("Attempting to create batch of {} cars...", dtos.size());
+        if (dtos.size() > batchCreateProperties.maxSize()) {
+            throw new InvalidPropertyValueException(String.valueOf(dtos.size()), "batch_size");
+        }
+        var validationResults = new CarBatchItemResultDto[dtos.size()];
+        var candidates = new ArrayList<Integer>(dtos.size());
+        for (var i = 0; i < dtos.size(); i++) {
+            var error = validate(dtos.get(i));
+            if (error == null) {
+                candidates.add(i);
+            } else {
+                var vin = dtos.get(i) == null ? null : dtos.get(i).vin();
+                validationResults[i] = new CarBatchItemResultDto(i, vin, CarBatchItemStatus.INVALID, error);
+            }
+        }
+
+        for (var attempt = 1; ; attempt++) {
+            try {
+                var result = transactionTemplate.execute(status -> insertBatch(dtos, candidates, validationResults.clone()));
+                log.info("Successfully processed batch of cars: created={}, conflicts={}, invalid={}",
+                        result.created(), result.conflicts(), result.invalid());
+                return result;
+            } catch (DataIntegrityViolationException e) {
+                if (!isDuplicateKey(e) || attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Batch of {} cars collided with a concurrent insert, retrying...", candidates.size());
+            }
+        }
+    }
+
+    private CarBatchResultDto insertBatch(List<CarDto> dtos, List<Integer> candidates, CarBatchItemResultDto[] results) {
+        var possiblyTakenVins = candidates.stream()
+                .map(i -> dtos.get(i).vin())
+                .filter(vinIndex::mightExist)
+                .toList();
+        var takenVins = new HashSet<String>();
+        for (var from = 0; from < possiblyTakenVins.size(); from += batchCreateProperties.chunkSize()) {
+            var chunk = possiblyTakenVins.subList(from, Math.min(from + batchCreateProperties.chunkSize(), possiblyTakenVins.size()));
+            takenVins.addAll(repository.findExistingVins(chunk));
+        }
+        var created = now();
+        var entities = new ArrayList<CarEntity>(candidates.size());
+        for (var i : candidates) {
+            var dto = dtos.get(i);
+            if (takenVins.add(dto.vin())) {
+                var entity = mapper.toEntity(dto);
+                entity.setCreated(created);
+                entities.add(entity);
+                results[i] = new CarBatchItemResultDto(i, dto.vin(), CarBatchItemStatus.CREATED, null);
+            } else {
+                var error = new CarAlreadyExistsException(dto.vin()).getMessage();
+                results[i] = new CarBatchItemResultDto(i, dto.vin(), CarBatchItemStatus.CONFLICT, error);
+            }
+        }
+        repository.persistAll(entities);
+        entities.forEach(entity -> vinIndex.add(entity.getVin()));
+        afterCommit(() -> entities.forEach(entity -> carFacets.add(CarFacetValues.of(entity))));
+        return CarBatchResultDto.of(Arrays.asList(results));
     }
 
     public CarDto get(String vin) {
+        return getVersioned(vin).body();
+    }
+
+    public Versioned<CarDto> getVersioned(String vin) {
         log.info("Attemtping to retrieve car with VIN='{}'...", vin);
-        var entity = getCarEntity(vin);
-        log.info("Successfully retrieved car with VIN='{}'", entity.getVin());
-        return mapper.toDto(entity);
+        var car = carCache.get(vin).orElseGet(() -> {
+            var entity = getCarEntity(vin);
+            var loaded = new Versioned<>(mapper.toDto(entity), revisionOf(entity).toEtag());
+            carCache.put(loaded);
+            return loaded;
+        });
+        log.info("Successfully retrieved car with VIN='{}'", vin);
+        return car;
     }
 
+    /**
+     * Returns only the given fields of a car, keyed by their JSON property name. A cached car is
+     * narrowed down in memory; otherwise only the columns of those fields are selected, so no entity
+     * is loaded and no full DTO is mapped.
+     */
+    public Map<String, Object> getFields(String vin, Set<CarField> fields) {
+        log.info("Attempting to retrieve fields {} of car with VIN='{}'...", fields, vin);
+        var cached = carCache.get(vin);
+        Map<String, Object> car;
+        if (cached.isPresent()) {
+            car = fieldsOf(cached.get().body(), fields);
+        } else {
+            if (!vinIndex.mightExist(vin)) {
+                throw new CarNotFoundException(vin);
+            }
+            car = repository.findFieldsByVin(vin, fields)
+                    .map(row -> fieldsOf(row, fields))
+                    .orElseThrow(() -> new CarNotFoundException(vin));
+        }
+        log.info("Successfully retrieved fields of car with VIN='{}'", vin);
+        return car;
+    }
+
+    /**
+     * Resolves many VINs at once. Cached cars are served from the cache and VINs unknown to the VIN
+     * index are reported missing right away; the rest is read with one {@code IN} query per
+     * {@code chunk-size} VINs, all in one read-only transaction. Cars are returned in request order,
+     * duplicates once. Loaded cars are not put into the cache, so one lookup of many VINs cannot evict
+     * the cars that single reads keep hot.
+     */
+    @Transactional(readOnly = true)
+    public CarLookupResultDto lookup(List<String> vins) {
+        log.info("Attempting to look up {} cars...", vins.size());
+        if (vins.size() > lookupProperties.maxSize()) {
+            throw new InvalidPropertyValueException(String.valueOf(vins.size()), "lookup_size");
+        }
+        var requested = new LinkedHashSet<String>(vins.size());
+        for (var vin : vins) {
+            if (vin == null || vin.isBlank()) {
+                throw new InvalidPropertyValueException(String.valueOf(vin), "vin");
+            }
+            requested.add(vin);
+        }
+
+        var found = new HashMap<String, CarDto>(requested.size());
+        var toLoad = new ArrayList<String>();
+        for (var vin : requested) {
+            var cached = carCache.get(vin);
+            if (cached.isPresent()) {
+                found.put(vin, cached.get().body());
+            } else if (vinIndex.mightExist(vin)) {
+                toLoad.add(vin);
+            }
+        }
+        for (var from = 0; from < toLoad.size(); from += lookupProperties.chunkSize()) {
+            var chunk = toLoad.subList(from, Math.min(from + lookupProperties.chunkSize(), toLoad.size()));
+            for (var entity : repository.findAllById(chunk)) {
+                found.put(entity.getVin(), mapper.toDto(entity));
+            }
+        }
+
+        var cars = new ArrayList<CarDto>(found.size());
+        var missing = new ArrayList<String>();
+        for (var vin : requested) {
+            var car = found.get(vin);
+            if (car == null) {
+                missing.add(vin);
+            } else {
+                cars.add(car);
+            }
+        }
+        log.info("Successfully looked up {} cars, {} missing", cars.size(), missing.size());
+        return new CarLookupResultDto(cars, missing);
+    }
+
+    @Transactional(readOnly = true)
     public List<CarDto> getAllCars() {
         log.info("Attempting to retrieve all cars...");
         var entities = repository.findAll();
@@ -47,22 +287,382 @@ public class CarService {
         return mapper.toDtoList(entities);
     }
 
+    /**
+     * Hands every car over to {@code consumer} as soon as its row is read. Each entity is detached
+     * once mapped, so memory use does not depend on the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportAllCars(Consumer<CarDto> consumer) {
+        log.info("Attempting to export all cars...");
+        try (var entities = repository.streamAll()) {
+            entities.forEach(entity -> {
+                consumer.accept(mapper.toDto(entity));
+                entityManager.detach(entity);
+            });
+        }
+        log.info("Successfully exported all cars");
+    }
+
+    /**
+     * Returns one page of cars ordered by {@code sort}. When a {@code cursor} from a previous page is
+     * given, its sort order takes precedence and the page continues right after its last row.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<CarPageDto> getCarsPage(String cursor, Integer pageSize, CarSortField sort, Sort.Direction direction) {
+        log.info("Attempting to retrieve page of cars...");
+        var page = getPage(cursor, pageSize, sort, direction, repository::findBy);
+        log.info("Successfully retrieved page of {} cars", page.body().items().size());
+        return page;
+    }
+
+    /**
+     * Returns one page of cars like {@link #getCarsPage}, reduced to the given fields. Only their
+     * columns are selected, plus the sort column and the VIN when the next cursor needs them.
+     */
+    @Transactional(readOnly = true)
+    public CarFieldsPageDto getCarFieldsPage(String cursor, Integer pageSize, CarSortField sort, Sort.Direction direction,
+                                             Set<CarField> fields) {
+        log.info("Attempting to retrieve fields {} of page of cars...", fields);
+        var after = cursor == null ? null : CarCursor.decode(cursor);
+        var effectiveSort = after == null ? sort : after.sort();
+        var effectiveDirection = after == null ? direction : after.direction();
+        var limit = paginationProperties.resolvePageSize(pageSize);
+        var sortField = CarField.of(effectiveSort);
+        var selected = EnumSet.copyOf(fields);
+        selected.add(sortField);
+        selected.add(CarField.VIN);
+        var rows = repository.findFields(selected, effectiveSort, effectiveDirection,
+                after == null ? null : after.lastValue(),
+                after == null ? null : after.lastVin(),
+                limit + 1);
+        var hasNext = rows.size() > limit;
+        var items = hasNext ? rows.subList(0, limit) : rows;
+        var nextCursor = hasNext
+                ? new CarCursor(effectiveSort, effectiveDirection, items.getLast().get(sortField), (String) items.getLast().get(CarField.VIN)).encode()
+                : null;
+        log.info("Successfully retrieved fields of page of {} cars", items.size());
+        return new CarFieldsPageDto(items.stream().map(row -> fieldsOf(row, fields)).toList(), nextCursor);
+    }
+
+    /**
+     * Returns one page of the cars matching all given filters, paginated like {@link #getCarsPage}.
+     * The filters are not part of the cursor and must be repeated with every page.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<CarPageDto> searchCars(CarSearchCriteria criteria, String cursor, Integer pageSize,
+                                            CarSortField sort, Sort.Direction direction) {
+        log.info("Attempting to search cars by {}...", criteria);
+        var specification = Specification.allOf(
+                CarSpecifications.hasBrand(criteria.brand()),
+                CarSpecifications.hasModel(criteria.model()),
+                CarSpecifications.hasFuelType(criteria.fuelType()),
+                CarSpecifications.hasTransmission(criteria.transmission()),
+                CarSpecifications.productionYearBetween(criteria.productionYearFrom(), criteria.productionYearTo()),
+                CarSpecifications.priceBetween(criteria.priceFrom(), criteria.priceTo()),
+                CarSpecifications.mileageBetween(criteria.mileageFrom(), criteria.mileageTo()),
+                CarSpecifications.hasOwner(criteria.owner())
+        );
+        var page = getPage(cursor, pageSize, sort, direction, (position, order, limit) -> repository.findBy(
+                specification,
+                query -> query.sortBy(order).limit(limit.max()).scroll(position)
+        ));
+        log.info("Successfully found page of {} cars", page.body().items().size());
+        return page;
+    }
+
+    /**
+     * Returns one page of the cars whose {@code document} expires between today and {@code withinDays}
+     * days from now, soonest first. The filters are not part of the cursor and must be repeated with
+     * every page.
+     */
+    @Transactional(readOnly = true)
+    public CarExpiryPageDto getExpiringCars(CarDocument document, int withinDays, String cursor, Integer pageSize) {
+        log.info("Attempting to retrieve cars with {} expiring within {} days...", document, withinDays);
+        if (withinDays < 0) {
+            throw new InvalidPropertyValueException(String.valueOf(withinDays), "within_days");
+        }
+        var after = cursor == null ? null : CarExpiryCursor.decode(cursor, document);
+        var limit = paginationProperties.resolvePageSize(pageSize);
+        var from = LocalDate.now();
+        var expiring = repository.findExpiring(document, from, from.plusDays(withinDays),
+                after == null ? null : after.lastDate(),
+                after == null ? null : after.lastVin(),
+                limit + 1);
+        var hasNext = expiring.size() > limit;
+        var items = hasNext ? expiring.subList(0, limit) : expiring;
+        var nextCursor = hasNext ? CarExpiryCursor.after(items.getLast(), document).encode() : null;
+        log.info("Successfully retrieved page of {} cars with {} expiring", items.size(), document);
+        return new CarExpiryPageDto(items.stream().map(car -> CarExpiryDto.of(document, car)).toList(), nextCursor);
+    }
+
+    /**
+     * Returns the number of cars and their average price and mileage per group, computed by the
+     * database. Without {@code groupBy} the result holds a single entry for all cars.
+     */
+    @Transactional(readOnly = true)
+    public List<CarGroupStatsDto> getStats(CarGroupField groupBy) {
+        log.info("Attempting to compute car statistics grouped by {}...", groupBy);
+        var stats = repository.aggregate(groupBy);
+        log.info("Successfully computed car statistics for {} groups", stats.size());
+        return mapper.toGroupStatsDtoList(stats);
+    }
+
+    /**
+     * Returns the number of cars per production year and group, computed by the database. Without
+     * {@code groupBy} the result holds a single histogram for all cars.
+     */
+    @Transactional(readOnly = true)
+    public List<CarYearHistogramDto> getProductionYearHistogram(CarGroupField groupBy) {
+        log.info("Attempting to compute production year histogram grouped by {}...", groupBy);
+        var histograms = new LinkedHashMap<String, SortedMap<Integer, Long>>();
+        for (var yearCount : repository.countByProductionYear(groupBy)) {
+            histograms.computeIfAbsent(yearCount.group(), group -> new TreeMap<>())
+                    .put(yearCount.productionYear(), yearCount.count());
+        }
+        log.info("Successfully computed production year histogram for {} groups", histograms.size());
+        return histograms.entrySet()
+                .stream()
+                .map(histogram -> new CarYearHistogramDto(histogram.getKey(), histogram.getValue()))
+                .toList();
+    }
+
+    public CarFacetsDto getFacets() {
+        return carFacets.snapshot();
+    }
+
+    /**
+     * Loads and changes the car in one transaction, so the entity stays managed and is written with a
+     * single UPDATE instead of being merged, which would select it again.
+     */
+    @Transactional
     public CarDto update(String vin, CarDto dto) {
         log.info("Attempting to update car with VIN='{}'...", vin);
         var entity = getCarEntity(vin);
+        var facetsBefore = CarFacetValues.of(entity);
         mapper.updateCarFromDto(dto, entity);
-        var savedEntity = repository.save(entity);
+        var savedEntity = repository.saveAndFlush(entity);
+        carCache.evict(vin);
+        var facetsAfter = CarFacetValues.of(savedEntity);
+        afterCommit(() -> carFacets.replace(facetsBefore, facetsAfter));
         log.info("Successfully updated car with VIN='{}'", savedEntity.getVin());
         return mapper.toDto(savedEntity);
     }
 
+    /**
+     * Changes only the non-null fields of {@code dto} with a single UPDATE, and a missing car is
+     * detected from the updated row count. The car is not read, unless a faceted field changes: then
+     * its facet columns are selected and locked first, so that the facet counts move by exactly the
+     * values this UPDATE replaces.
+     */
+    @Transactional
+    public void patch(String vin, CarDto dto) {
+        log.info("Attempting to patch car with VIN='{}'...", vin);
+        if (dto.vin() != null && !dto.vin().equals(vin)) {
+            throw new InvalidPropertyValueException(dto.vin(), "vin");
+        }
+        if (!vinIndex.mightExist(vin)) {
+            throw new CarNotFoundException(vin);
+        }
+        var changes = changesOf(dto);
+        changes.forEach((attribute, value) -> {
+            if (!validator.validateValue(CarDto.class, attribute, value).isEmpty()) {
+                throw new InvalidPropertyValueException(String.valueOf(value), attribute);
+            }
+        });
+        var facetsBefore = changes.keySet().stream().anyMatch(FACET_ATTRIBUTES::contains)
+                ? repository.findFacetValuesForUpdateByVin(vin).orElseThrow(() -> new CarNotFoundException(vin))
+                : null;
+        var updated = changes.isEmpty()
+                ? repository.existsById(vin) ? 1 : 0
+                : repository.patch(vin, changes);
+        if (updated == 0) {
+            throw new CarNotFoundException(vin);
+        }
+        carCache.evict(vin);
+        if (facetsBefore != null) {
+            var facetsAfter = withChanges(facetsBefore, changes);
+            afterCommit(() -> carFacets.replace(facetsBefore, facetsAfter));
+        }
+        log.info("Successfully patched {} fields of car with VIN='{}'", changes.size(), vin);
+    }
+
+    @Transactional
     public void delete(String vin) {
         log.info("Attempt to delete car with VIN='{}'...", vin);
-        repository.delete(getCarEntity(vin));
+        if (!vinIndex.mightExist(vin)) {
+            throw new CarNotFoundException(vin);
+        }
+        var facets = repository.findFacetValuesForUpdateByVin(vin)
+                .orElseThrow(() -> new CarNotFoundException(vin));
+        if (repository.deleteByVin(vin) == 0) {
+            throw new CarNotFoundException(vin);
+        }
+        carCache.evict(vin);
+        afterCommit(() -> {
+            vinIndex.remove(vin);
+            carFacets.remove(facets);
+        });
         log.info("Successfully deleted car with VIN='{}'", vin);
     }
 
+    private String validate(CarDto dto) {
+        if (dto == null) {
+            return "Missing car details";
+        }
+        var invalidFields = validator.validate(dto)
+                .stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(Object::toString)
+                .sorted()
+                .toList();
+        return invalidFields.isEmpty()
+                ? null
+                : "Invalid parameters given: [%s]".formatted(String.join(", ", invalidFields));
+    }
+
+    /**
+     * Collects the supplied fields of a partial update, keyed by the {@link CarEntity} attribute
+     * they map to. The VIN and creation time can never be changed.
+     */
+    private static Map<String, Object> changesOf(CarDto dto) {
+        var changes = new LinkedHashMap<String, Object>();
+        putIfPresent(changes, "brand", dto.brand());
+        putIfPresent(changes, "model", dto.model());
+        putIfPresent(changes, "productionYear", dto.productionYear());
+        putIfPresent(changes, "mileage", dto.mileage());
+        putIfPresent(changes, "fuelType", dto.fuelType());
+        putIfPresent(changes, "engineCapacity", dto.engineCapacity());
+        putIfPresent(changes, "color", dto.color());
+        putIfPresent(changes, "transmission", dto.transmission());
+        putIfPresent(changes, "owner", dto.owner());
+        putIfPresent(changes, "price", dto.price());
+        putIfPresent(changes, "registrationNumber", dto.registrationNumber());
+        putIfPresent(changes, "registrationDate", dto.registrationDate());
+        putIfPresent(changes, "insuranceExpirationDate", dto.insuranceExpirationDate());
+        putIfPresent(changes, "technicalInspectionExpirationDate", dto.technicalInspectionExpirationDate());
+        return changes;
+    }
+
+    private static Map<String, Object> fieldsOf(Map<CarField, Object> row, Set<CarField> fields) {
+        var car = new LinkedHashMap<String, Object>();
+        fields.forEach(field -> car.put(field.getProperty(), row.get(field)));
+        return car;
+    }
+
+    private static Map<String, Object> fieldsOf(CarDto dto, Set<CarField> fields) {
+        var car = new LinkedHashMap<String, Object>();
+        fields.forEach(field -> car.put(field.getProperty(), switch (field) {
+            case VIN -> dto.vin();
+            case BRAND -> dto.brand();
+            case MODEL -> dto.model();
+            case PRODUCTION_YEAR -> dto.productionYear();
+            case MILEAGE -> dto.mileage();
+            case FUEL_TYPE -> dto.fuelType();
+            case ENGINE_CAPACITY -> dto.engineCapacity();
+            case COLOR -> dto.color();
+            case TRANSMISSION -> dto.transmission();
+            case OWNER -> dto.owner();
+            case PRICE -> dto.price();
+            case REGISTRATION_NUMBER -> dto.registrationNumber();
+            case REGISTRATION_DATE -> dto.registrationDate();
+            case INSURANCE_EXPIRATION_DATE -> dto.insuranceExpirationDate();
+            case TECHNICAL_INSPECTION_EXPIRATION_DATE -> dto.technicalInspectionExpirationDate();
+            case CREATED -> dto.created();
+        }));
+        return car;
+    }
+
+    private static CarFacetValues withChanges(CarFacetValues car, Map<String, Object> changes) {
+        return new CarFacetValues(
+                (String) changes.getOrDefault("brand", car.brand()),
+                (FuelType) changes.getOrDefault("fuelType", car.fuelType()),
+                (TransmissionType) changes.getOrDefault("transmission", car.transmission()),
+                (Integer) changes.getOrDefault("productionYear", car.productionYear())
+        );
+    }
+
+    private static void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+
+    private Versioned<CarPageDto> getPage(String cursor, Integer pageSize, CarSortField sort, Sort.Direction direction,
+                                          WindowQuery query) {
+        var after = cursor == null ? null : CarCursor.decode(cursor);
+        var effectiveSort = after == null ? sort : after.sort();
+        var effectiveDirection = after == null ? direction : after.direction();
+        var window = query.fetch(
+                after == null ? ScrollPosition.keyset() : after.toScrollPosition(),
+                CarCursor.sortOf(effectiveSort, effectiveDirection),
+                Limit.of(paginationProperties.resolvePageSize(pageSize))
+        );
+        var entities = window.getContent();
+        var nextCursor = window.hasNext() && !entities.isEmpty()
+                ? CarCursor.after(entities.getLast(), effectiveSort, effectiveDirection).encode()
+                : null;
+        return new Versioned<>(new CarPageDto(mapper.toDtoList(entities), nextCursor), pageEtag(entities, nextCursor));
+    }
+
+    /**
+     * Runs {@code action} once the current transaction has committed, or right away outside of one.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Current time at the microsecond precision of the {@code created} column, so that the creation
+     * time and the entity tag of a freshly created car stay the same once it is read back.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static CarRevision revisionOf(CarEntity entity) {
+        return new CarRevision(entity.getCreated(), entity.getVersion());
+    }
+
+    /**
+     * Digests the identity and revision of every row of a page together with its next cursor, so that
+     * two different pages practically never share a tag and get a wrong {@code 304 Not Modified}.
+     */
+    private static String pageEtag(List<CarEntity> entities, String nextCursor) {
+        var page = new StringBuilder();
+        for (var entity : entities) {
+            page.append(entity.getVin()).append('|')
+                    .append(entity.getCreated()).append('|')
+                    .append(entity.getVersion()).append('\n');
+        }
+        page.append(nextCursor);
+        return "\"%s\"".formatted(DigestUtils.md5DigestAsHex(page.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        return e instanceof DuplicateKeyException
+                || e.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+
+    @FunctionalInterface
+    private interface WindowQuery {
+
+        Window<CarEntity> fetch(ScrollPosition position, Sort sort, Limit limit);
+    }
+
     private CarEntity getCarEntity(String vin) {
+        if (!vinIndex.mightExist(vin)) {
+            throw new CarNotFoundException(vin);
+        }
         return repository.findById(vin)
                 .orElseThrow(() -> new CarNotFoundException(vin));
     }
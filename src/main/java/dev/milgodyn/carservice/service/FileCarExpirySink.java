@@ -0,0 +1,88 @@
+package dev.milgodyn.carservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.milgodyn.carservice.config.ExpiryScanProperties;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Writes every scan as NDJSON to {@code expiring-cars-<from>.ndjson} in the configured directory.
+ * A scan writes to a temporary file next to it, which is atomically moved into place only when the
+ * scan completes, so readers never see a partial report and a failed scan leaves the previous one.
+ * A second scan on the same day replaces the file of the first one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "car-service.expiry-scan", name = "sink", havingValue = "file")
+public class FileCarExpirySink implements CarExpirySink {
+
+    private final ExpiryScanProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Report open(LocalDate from, LocalDate to) {
+        try {
+            Files.createDirectories(properties.directory());
+            var file = properties.directory().resolve("expiring-cars-%s.ndjson".formatted(from));
+            var temporaryFile = Files.createTempFile(properties.directory(), "expiring-cars-", ".ndjson.tmp");
+            return new FileReport(file, temporaryFile, Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class FileReport implements Report {
+
+        private final Path file;
+        private final Path temporaryFile;
+        private final BufferedWriter writer;
+
+        @Override
+        public void accept(List<CarExpiryDto> batch) {
+            try {
+                for (var car : batch) {
+                    writer.write(objectMapper.writeValueAsString(car));
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            try {
+                writer.close();
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Successfully wrote expiring cars to '{}'", file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.close();
+                Files.deleteIfExists(temporaryFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
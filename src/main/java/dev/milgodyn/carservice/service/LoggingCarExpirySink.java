@@ -0,0 +1,22 @@
+package dev.milgodyn.carservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Writes every expiring car to the application log. This is the default sink.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "car-service.expiry-scan", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LoggingCarExpirySink implements CarExpirySink {
+
+    @Override
+    public Report open(LocalDate from, LocalDate to) {
+        return batch -> batch.forEach(car -> log.info("{} of car with VIN='{}' expires on {}",
+                car.document(), car.vin(), car.expirationDate()));
+    }
+}
@@ -0,0 +1,76 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.config.ExpiryScanProperties;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands expiring cars over to in-process consumers through a bounded queue, so memory use stays
+ * bounded by its capacity. The application has to take the cars from {@link #queue()}; this service
+ * ships no consumer of its own.
+ * <p>
+ * When the queue is full the scan waits up to {@code queue-offer-timeout} for the consumers to catch
+ * up. If they do not, the car and the rest of the scan are dropped without waiting any further, and
+ * the number of dropped cars is logged as a warning when the scan ends. A scan thus never blocks for
+ * good, even without any consumer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "car-service.expiry-scan", name = "sink", havingValue = "queue")
+public class QueueCarExpirySink implements CarExpirySink {
+
+    private final BlockingQueue<CarExpiryDto> queue;
+    private final Duration offerTimeout;
+
+    public QueueCarExpirySink(ExpiryScanProperties properties) {
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.offerTimeout = properties.queueOfferTimeout();
+    }
+
+    @Override
+    public Report open(LocalDate from, LocalDate to) {
+        return new QueueReport();
+    }
+
+    public BlockingQueue<CarExpiryDto> queue() {
+        return queue;
+    }
+
+    private class QueueReport implements Report {
+
+        private long dropped;
+
+        @Override
+        public void accept(List<CarExpiryDto> batch) {
+            try {
+                for (var car : batch) {
+                    var queued = dropped == 0
+                            ? queue.offer(car, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                            : queue.offer(car);
+                    if (!queued) {
+                        dropped++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing expiring cars", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (dropped > 0) {
+                log.warn("Dropped {} expiring cars, the queue stayed full for more than {}", dropped, offerTimeout);
+            }
+        }
+    }
+}
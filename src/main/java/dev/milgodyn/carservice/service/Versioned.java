@@ -0,0 +1,7 @@
+package dev.milgodyn.carservice.service;
+
+/**
+ * Response body paired with the strong entity tag of the state it was read from.
+ */
+public record Versioned<T>(T body, String etag) {
+}
@@ -0,0 +1,88 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.common.CountingBloomFilter;
+import dev.milgodyn.carservice.config.VinIndexProperties;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory Bloom filter of all known VINs, used to answer lookups of VINs that certainly do not
+ * exist without touching the database. It is filled by streaming the {@code car} table before the
+ * application starts serving requests and is then kept current by {@link CarService}, so it is only
+ * authoritative as long as every write to the table goes through this instance. It is therefore
+ * disabled by default and must not be enabled when the application runs as more than one instance;
+ * a disabled index answers every VIN with {@code true}, so all lookups reach the database.
+ */
+@Slf4j
+@Component
+public class VinIndex implements SmartInitializingSingleton {
+
+    private final CarRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final VinIndexProperties properties;
+    private final CountingBloomFilter filter;
+
+    private volatile boolean ready;
+
+    public VinIndex(CarRepository repository,
+                    PlatformTransactionManager transactionManager,
+                    VinIndexProperties properties,
+                    MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = properties;
+        this.filter = CountingBloomFilter.create(properties.expectedInsertions(), properties.falsePositiveProbability());
+
+        Gauge.builder("car.vin.index.entries", filter, CountingBloomFilter::entries)
+                .description("Number of VINs stored in the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("car.vin.index.size", filter, CountingBloomFilter::sizeInBytes)
+                .description("Memory used by the Bloom filter counters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("car.vin.index.false.positive.probability", filter, CountingBloomFilter::falsePositiveProbability)
+                .description("Expected false-positive probability for the current number of VINs")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.enabled()) {
+            log.info("VIN index is disabled");
+            return;
+        }
+        log.info("Building VIN index...");
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var vins = repository.streamAllVins()) {
+                vins.forEach(filter::add);
+            }
+        });
+        ready = true;
+        log.info("Successfully built VIN index with {} VINs", filter.entries());
+    }
+
+    /**
+     * Returns {@code false} only when the car with the given VIN certainly does not exist.
+     */
+    public boolean mightExist(String vin) {
+        return !ready || filter.mightContain(vin);
+    }
+
+    public void add(String vin) {
+        filter.add(vin);
+    }
+
+    /**
+     * Must only be called for a VIN whose row has just been deleted.
+     */
+    public void remove(String vin) {
+        filter.remove(vin);
+    }
+}
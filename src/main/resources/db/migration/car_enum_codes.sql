@@ -0,0 +1,29 @@
+-- Moves car.fuel_type and car.transmission from enum names (varchar) to the smallint codes of
+-- FuelType and TransmissionType. Run once against an existing database before starting a version
+-- that stores codes; Hibernate's ddl-auto=update does not change the type of existing columns.
+-- A row holding an unknown name is left without a code, which makes SET NOT NULL fail and the
+-- migration stop before any old column is dropped.
+
+ALTER TABLE car ADD COLUMN fuel_type_code SMALLINT;
+ALTER TABLE car ADD COLUMN transmission_code SMALLINT;
+
+UPDATE car
+SET fuel_type_code    = CASE fuel_type
+                            WHEN 'GASOLINE' THEN 1
+                            WHEN 'DIESEL' THEN 2
+                            WHEN 'ELECTRIC' THEN 3
+                            WHEN 'HYBRID' THEN 4
+                        END,
+    transmission_code = CASE transmission
+                            WHEN 'MANUAL' THEN 1
+                            WHEN 'AUTOMATIC' THEN 2
+                        END;
+
+ALTER TABLE car ALTER COLUMN fuel_type_code SET NOT NULL;
+ALTER TABLE car ALTER COLUMN transmission_code SET NOT NULL;
+
+ALTER TABLE car DROP COLUMN fuel_type;
+ALTER TABLE car DROP COLUMN transmission;
+
+ALTER TABLE car RENAME COLUMN fuel_type_code TO fuel_type;
+ALTER TABLE car RENAME COLUMN transmission_code TO transmission;
@@ -0,0 +1,13 @@
+-- Adds the optimistic-locking revision car.version that CarEntity maps as a non-null column and
+-- that page and item ETags are derived from. Run once against an existing database before starting
+-- a version that maps it; Hibernate's ddl-auto=update adds the column as nullable and leaves
+-- existing rows without a value, which fails when they are loaded into the primitive field.
+-- Existing rows start at revision 0, the value Hibernate assigns to newly persisted ones.
+
+ALTER TABLE car ADD COLUMN version BIGINT;
+
+UPDATE car
+SET version = 0
+WHERE version IS NULL;
+
+ALTER TABLE car ALTER COLUMN version SET NOT NULL;
@@ -1,23 +1,50 @@
 package dev.milgodyn.carservice.application;
 
+import dev.milgodyn.carservice.dto.CarBatchItemResultDto;
+import dev.milgodyn.carservice.dto.CarBatchItemStatus;
+import dev.milgodyn.carservice.dto.CarBatchResultDto;
 import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.dto.CarExpiryPageDto;
+import dev.milgodyn.carservice.dto.CarFacetsDto;
+import dev.milgodyn.carservice.dto.CarFieldsPageDto;
+import dev.milgodyn.carservice.dto.CarGroupStatsDto;
+import dev.milgodyn.carservice.dto.CarLookupResultDto;
+import dev.milgodyn.carservice.dto.CarPageDto;
+import dev.milgodyn.carservice.dto.CarSearchCriteria;
+import dev.milgodyn.carservice.dto.CarYearHistogramDto;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
 import dev.milgodyn.carservice.persistence.type.FuelType;
 import dev.milgodyn.carservice.persistence.type.TransmissionType;
 import dev.milgodyn.carservice.service.CarService;
+import dev.milgodyn.carservice.service.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,7 +59,9 @@ class CarControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(new CarController(carService)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new CarController(carService, Jackson2ObjectMapperBuilder.json().build()))
+                .setControllerAdvice(new RepresentationEtagAdvice())
+                .build();
     }
 
     @Test
@@ -89,6 +118,80 @@ class CarControllerTest {
                 .andExpect(jsonPath("$.production_year").value(2020));
     }
 
+    @Test
+    void shouldCreateBatchOfCars() throws Exception {
+        // given
+        var result = CarBatchResultDto.of(List.of(
+                new CarBatchItemResultDto(0, "1HGCM82633A004352", CarBatchItemStatus.CREATED, null),
+                new CarBatchItemResultDto(1, "2HGCM82633A004353", CarBatchItemStatus.CONFLICT, "Car with VIN='2HGCM82633A004353' already exists")
+        ));
+
+        when(carService.createBatch(any())).thenReturn(result);
+
+        // when / then
+        mockMvc.perform(post("/v1/cars/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        [
+                          { "vin": "1HGCM82633A004352", "brand": "Toyota" },
+                          { "vin": "2HGCM82633A004353", "brand": "Honda" }
+                        ]
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.conflicts").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.items[1].error").value("Car with VIN='2HGCM82633A004353' already exists"));
+    }
+
+    @Test
+    void shouldLookUpCars() throws Exception {
+        // given
+        var carDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        when(carService.lookup(List.of("1HGCM82633A004352", "NON_EXISTENT_VIN")))
+                .thenReturn(new CarLookupResultDto(List.of(carDto), List.of("NON_EXISTENT_VIN")));
+
+        // when / then
+        mockMvc.perform(post("/v1/cars/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        ["1HGCM82633A004352", "NON_EXISTENT_VIN"]
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cars[0].vin").value("1HGCM82633A004352"))
+                .andExpect(jsonPath("$.missing[0]").value("NON_EXISTENT_VIN"));
+    }
+
+    @Test
+    void shouldGetOnlyRequestedFieldsOfCar() throws Exception {
+        // given
+        when(carService.getFields("1HGCM82633A004352", EnumSet.of(CarField.VIN, CarField.BRAND, CarField.PRICE)))
+                .thenReturn(Map.of("vin", "1HGCM82633A004352", "brand", "Toyota", "price", 25000.00));
+
+        // when / then
+        mockMvc.perform(get("/v1/car/1HGCM82633A004352")
+                        .param("fields", "vin, brand,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brand").value("Toyota"))
+                .andExpect(jsonPath("$.model").doesNotExist());
+    }
+
+    @Test
+    void shouldGetOnlyRequestedFieldsOfPage() throws Exception {
+        // given
+        when(carService.getCarFieldsPage(null, 10, CarSortField.VIN, Sort.Direction.ASC, EnumSet.of(CarField.VIN)))
+                .thenReturn(new CarFieldsPageDto(List.of(Map.of("vin", "1HGCM82633A004352")), "next"));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars")
+                        .param("fields", "vin")
+                        .param("page_size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].vin").value("1HGCM82633A004352"))
+                .andExpect(jsonPath("$.next_cursor").value("next"));
+    }
+
     @Test
     void shouldGetCarByVin() throws Exception {
         // given
@@ -111,18 +214,53 @@ class CarControllerTest {
                 LocalDateTime.now()
         );
 
-        when(carService.get(eq("1HGCM82633A004352"))).thenReturn(carDto);
+        when(carService.getVersioned(eq("1HGCM82633A004352"))).thenReturn(new Versioned<>(carDto, "\"18f-1\""));
 
         // when / then
         mockMvc.perform(get("/v1/car/1HGCM82633A004352")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"18f-1\""))
+                .andExpect(header().string("Vary", "Accept"))
                 .andExpect(jsonPath("$.vin").value("1HGCM82633A004352"))
                 .andExpect(jsonPath("$.brand").value("Toyota"))
                 .andExpect(jsonPath("$.model").value("Corolla"))
                 .andExpect(jsonPath("$.production_year").value(2020));
     }
 
+    @Test
+    void shouldReturnNotModifiedVaryingByAccept_whenEtagMatches() throws Exception {
+        // given
+        var carDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carService.getVersioned(eq("1HGCM82633A004352"))).thenReturn(new Versioned<>(carDto, "\"18f-1\""));
+
+        // when / then
+        mockMvc.perform(get("/v1/car/1HGCM82633A004352")
+                        .header("If-None-Match", "\"18f-1\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"18f-1\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnCar_whenEtagDoesNotMatch() throws Exception {
+        // given
+        var carDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carService.getVersioned(eq("1HGCM82633A004352"))).thenReturn(new Versioned<>(carDto, "\"18f-2\""));
+
+        // when / then
+        mockMvc.perform(get("/v1/car/1HGCM82633A004352")
+                        .header("If-None-Match", "\"18f-1\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"18f-2\""))
+                .andExpect(jsonPath("$.vin").value("1HGCM82633A004352"));
+    }
+
     @Test
     void shouldGetAllCars() throws Exception {
         // given
@@ -168,6 +306,7 @@ class CarControllerTest {
 
         // when / then
         mockMvc.perform(get("/v1/cars")
+                        .param("unpaged", "true")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].vin").value("1HGCM82633A004352"))
@@ -176,6 +315,188 @@ class CarControllerTest {
                 .andExpect(jsonPath("$[1].brand").value("Honda"));
     }
 
+    @Test
+    void shouldGetPageOfCars() throws Exception {
+        // given
+        var carDto = new CarDto(
+                "1HGCM82633A004352",
+                "Toyota",
+                "Corolla",
+                2020,
+                50000,
+                FuelType.GASOLINE,
+                1.8,
+                "Black",
+                TransmissionType.MANUAL,
+                "John Doe",
+                25000.00,
+                "XYZ123456",
+                LocalDate.of(2020, 5, 15),
+                LocalDate.of(2023, 5, 15),
+                LocalDate.of(2024, 5, 15),
+                LocalDateTime.now()
+        );
+
+        when(carService.getCarsPage(eq("abc"), eq(1), eq(CarSortField.PRODUCTION_YEAR), eq(Sort.Direction.DESC)))
+                .thenReturn(new Versioned<>(new CarPageDto(List.of(carDto), "def"), "\"00000000000000ab\""));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars")
+                        .param("cursor", "abc")
+                        .param("page_size", "1")
+                        .param("sort", "production_year")
+                        .param("direction", "desc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].vin").value("1HGCM82633A004352"))
+                .andExpect(jsonPath("$.next_cursor").value("def"))
+                .andExpect(header().string("ETag", "\"00000000000000ab\""));
+    }
+
+    @Test
+    void shouldSearchCars() throws Exception {
+        // given
+        var carDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.HYBRID, 1.8, "Black", TransmissionType.AUTOMATIC, "John Doe", 25000.00, null, null, null, null, null);
+        var expectedCriteria = new CarSearchCriteria("Toyota", null, FuelType.HYBRID, TransmissionType.AUTOMATIC,
+                2018, null, null, 30000.0, null, 100000, null);
+
+        when(carService.searchCars(eq(expectedCriteria), eq(null), eq(10), eq(CarSortField.VIN), eq(Sort.Direction.ASC)))
+                .thenReturn(new Versioned<>(new CarPageDto(List.of(carDto), null), "\"00000000000000cd\""));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars/search")
+                        .param("brand", "Toyota")
+                        .param("fuel_type", "hybrid")
+                        .param("transmission", "automatic")
+                        .param("production_year_from", "2018")
+                        .param("price_to", "30000")
+                        .param("mileage_to", "100000")
+                        .param("page_size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].vin").value("1HGCM82633A004352"))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist())
+                .andExpect(header().string("ETag", "\"00000000000000cd\""));
+    }
+
+    @Test
+    void shouldGetExpiringCars() throws Exception {
+        // given
+        var expiry = new CarExpiryDto("1HGCM82633A004352", CarDocument.INSURANCE, LocalDate.of(2024, 5, 15), "John Doe", "XYZ123456");
+        when(carService.getExpiringCars(CarDocument.INSURANCE, 14, null, null))
+                .thenReturn(new CarExpiryPageDto(List.of(expiry), "next"));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars/expiring")
+                        .param("document", "insurance")
+                        .param("within_days", "14")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].vin").value("1HGCM82633A004352"))
+                .andExpect(jsonPath("$.items[0].document").value("INSURANCE"))
+                .andExpect(jsonPath("$.items[0].registration_number").value("XYZ123456"))
+                .andExpect(jsonPath("$.next_cursor").value("next"));
+    }
+
+    @Test
+    void shouldGetFacets() throws Exception {
+        // given
+        when(carService.getFacets()).thenReturn(new CarFacetsDto(
+                new TreeMap<>(Map.of("Toyota", 2L)),
+                new TreeMap<>(Map.of("GASOLINE", 1L, "HYBRID", 1L)),
+                new TreeMap<>(Map.of("MANUAL", 2L)),
+                new TreeMap<>(Map.of(2020, 2L))
+        ));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars/facets")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brand.Toyota").value(2))
+                .andExpect(jsonPath("$.fuel_type.HYBRID").value(1))
+                .andExpect(jsonPath("$.transmission.MANUAL").value(2))
+                .andExpect(jsonPath("$.production_year.2020").value(2));
+    }
+
+    @Test
+    void shouldGetStatsGroupedByFuelType() throws Exception {
+        // given
+        when(carService.getStats(CarGroupField.FUEL_TYPE))
+                .thenReturn(List.of(new CarGroupStatsDto("HYBRID", 3, 31000.0, 12000.0)));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars/stats")
+                        .param("group_by", "fuel_type")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].group").value("HYBRID"))
+                .andExpect(jsonPath("$[0].count").value(3))
+                .andExpect(jsonPath("$[0].average_price").value(31000.0))
+                .andExpect(jsonPath("$[0].average_mileage").value(12000.0));
+    }
+
+    @Test
+    void shouldGetProductionYearHistogram() throws Exception {
+        // given
+        when(carService.getProductionYearHistogram(CarGroupField.BRAND))
+                .thenReturn(List.of(new CarYearHistogramDto("Toyota", new TreeMap<>(Map.of(2019, 2L, 2020, 5L)))));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars/stats/production-years")
+                        .param("group_by", "brand")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].group").value("Toyota"))
+                .andExpect(jsonPath("$[0].years.2019").value(2))
+                .andExpect(jsonPath("$[0].years.2020").value(5));
+    }
+
+    @Test
+    void shouldReturnNotModified_whenPageEtagMatches() throws Exception {
+        // given
+        when(carService.getCarsPage(any(), any(), any(), any()))
+                .thenReturn(new Versioned<>(new CarPageDto(List.of(), null), "\"00000000000000ab\""));
+
+        // when / then
+        mockMvc.perform(get("/v1/cars")
+                        .header("If-None-Match", "\"00000000000000ab\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldExportAllCarsAsNdjson() throws Exception {
+        // given
+        var carDto1 = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var carDto2 = new CarDto("2HGCM82633A004353", "Honda", "Civic", 2021, 30000, FuelType.DIESEL, 2.0, "Red", TransmissionType.AUTOMATIC, "Jane Doe", 30000.00, null, null, null, null, null);
+
+        doAnswer(invocation -> {
+            Consumer<CarDto> consumer = invocation.getArgument(0);
+            consumer.accept(carDto1);
+            consumer.accept(carDto2);
+            return null;
+        }).when(carService).exportAllCars(any());
+
+        // when
+        var mvcResult = mockMvc.perform(get("/v1/cars")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        var lines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"vin\":\"1HGCM82633A004352\",\"brand\":\"Toyota\"");
+        assertThat(lines[1]).startsWith("{\"vin\":\"2HGCM82633A004353\",\"brand\":\"Honda\"");
+    }
+
     @Test
     void shouldUpdateCar() throws Exception {
         // given
@@ -218,6 +539,18 @@ class CarControllerTest {
     }
 
 
+    @Test
+    void shouldPatchCar() throws Exception {
+        // when / then
+        mockMvc.perform(patch("/v1/car/1HGCM82633A004352")
+                        .content("{\"mileage\": 60000, \"owner\": \"Jane Smith\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(carService).patch(eq("1HGCM82633A004352"),
+                eq(new CarDto(null, null, null, null, 60000, null, null, null, null, "Jane Smith", null, null, null, null, null, null)));
+    }
+
     @Test
     void shouldDeleteCar() throws Exception {
         // given
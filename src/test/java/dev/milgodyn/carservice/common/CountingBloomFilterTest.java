@@ -0,0 +1,68 @@
+package dev.milgodyn.carservice.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void shouldContainAllAddedKeys() {
+        // given
+        var underTest = CountingBloomFilter.create(10_000, 0.01);
+
+        // when
+        IntStream.range(0, 10_000).forEach(i -> underTest.add(vin(i)));
+
+        // then
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> underTest.mightContain(vin(i)));
+        assertThat(underTest.entries()).isEqualTo(10_000);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateCloseToConfiguredProbability() {
+        // given
+        var underTest = CountingBloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> underTest.add(vin(i)));
+
+        // when
+        var falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> underTest.mightContain(vin(i)))
+                .count();
+
+        // then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(underTest.falsePositiveProbability()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void shouldForgetRemovedKeys_andKeepTheOthers() {
+        // given
+        var underTest = CountingBloomFilter.create(1_000, 0.001);
+        IntStream.range(0, 1_000).forEach(i -> underTest.add(vin(i)));
+
+        // when
+        IntStream.range(0, 500).forEach(i -> underTest.remove(vin(i)));
+
+        // then
+        assertThat(IntStream.range(500, 1_000)).allMatch(i -> underTest.mightContain(vin(i)));
+        assertThat(IntStream.range(0, 500).filter(i -> underTest.mightContain(vin(i))).count()).isLessThan(10);
+        assertThat(underTest.entries()).isEqualTo(500);
+    }
+
+    @Test
+    void shouldRejectInvalidSizing() {
+        // when / then
+        assertThatThrownBy(() -> CountingBloomFilter.create(0, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CountingBloomFilter.create(1_000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String vin(int i) {
+        return "1HGCM8263%08d".formatted(i);
+    }
+}
@@ -0,0 +1,36 @@
+package dev.milgodyn.carservice.common;
+
+import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnumUtilsTest {
+
+    @Test
+    void shouldResolveConstantIgnoringCase() {
+        // when / then
+        assertThat(EnumUtils.fromValue("hybrid", FuelType.class, "fuel_type")).isEqualTo(FuelType.HYBRID);
+        assertThat(EnumUtils.fromValue("Diesel", FuelType.class, "fuel_type")).isEqualTo(FuelType.DIESEL);
+        assertThat(EnumUtils.fromValue("AUTOMATIC", TransmissionType.class, "transmission")).isEqualTo(TransmissionType.AUTOMATIC);
+    }
+
+    @Test
+    void shouldThrowException_whenValueIsUnknown() {
+        // when / then
+        assertThatThrownBy(() -> EnumUtils.fromValue("steam", FuelType.class, "fuel_type"))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessage("Invalid value 'steam' for property=<fuel_type>");
+    }
+
+    @Test
+    void shouldThrowException_whenValueIsNull() {
+        // when / then
+        assertThatThrownBy(() -> EnumUtils.fromValue(null, TransmissionType.class, "transmission"))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessage("Invalid value 'null' for property=<transmission>");
+    }
+}
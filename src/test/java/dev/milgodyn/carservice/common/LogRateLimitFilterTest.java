@@ -0,0 +1,57 @@
+package dev.milgodyn.carservice.common;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRateLimitFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogRateLimitFilter underTest = new LogRateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        underTest.setContext(context);
+        underTest.setMaxPerSecond(5);
+        underTest.start();
+    }
+
+    @Test
+    void shouldLimitEachMessagePatternSeparately() {
+        // given
+        var logger = context.getLogger("dev.milgodyn.carservice.exception.ExceptionResolver");
+
+        // when
+        var notFound = passed(logger, Level.INFO, "Car {} not found");
+        var conflict = passed(logger, Level.INFO, "Car {} already exists");
+
+        // then
+        assertThat(notFound).isBetween(5L, 10L);
+        assertThat(conflict).isBetween(5L, 10L);
+    }
+
+    @Test
+    void shouldNotLimitWarnings() {
+        // given
+        var logger = context.getLogger("dev.milgodyn.carservice.exception.ExceptionResolver");
+
+        // when
+        var passed = passed(logger, Level.ERROR, "Unexpected exception! {}");
+
+        // then
+        assertThat(passed).isEqualTo(100);
+    }
+
+    private long passed(ch.qos.logback.classic.Logger logger, Level level, String format) {
+        return IntStream.range(0, 100)
+                .filter(i -> underTest.decide(null, logger, level, format, null, null) == FilterReply.NEUTRAL)
+                .count();
+    }
+}
@@ -0,0 +1,53 @@
+package dev.milgodyn.carservice.common;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogSamplingFilter underTest = new LogSamplingFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        underTest.setContext(context);
+        underTest.setLoggerName("dev.milgodyn.carservice.service");
+        underTest.setSampleRate(10);
+        underTest.start();
+    }
+
+    @Test
+    void shouldLetThroughAboutOneInSampleRateInfoEvents() {
+        // given
+        var logger = context.getLogger("dev.milgodyn.carservice.service.CarService");
+
+        // when
+        var passed = IntStream.range(0, 10_000)
+                .filter(i -> underTest.decide(null, logger, Level.INFO, "Attempting to get car {}", null, null) == FilterReply.NEUTRAL)
+                .count();
+
+        // then
+        assertThat(passed).isBetween(700L, 1300L);
+    }
+
+    @Test
+    void shouldNotSampleWarningsOrOtherLoggers() {
+        // given
+        var sampled = context.getLogger("dev.milgodyn.carservice.service.CarService");
+        var other = context.getLogger("dev.milgodyn.carservice.serviceX");
+
+        // when / then
+        for (var i = 0; i < 100; i++) {
+            assertThat(underTest.decide(null, sampled, Level.WARN, "Slow", null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(underTest.decide(null, other, Level.INFO, "Other", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package dev.milgodyn.carservice.common;
+
+import dev.milgodyn.carservice.config.MethodTimingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoggingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Timed underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new MethodTimingProperties(List.of(Duration.ofMillis(10), Duration.ofMillis(100)), true, List.of());
+        var factory = new AspectJProxyFactory(new Timed());
+        factory.addAspect(new LoggingAspect(meterRegistry, properties));
+        underTest = factory.getProxy();
+    }
+
+    @Test
+    void shouldRecordTimerPerMethodAndOutcome() {
+        // when
+        underTest.succeed();
+        underTest.succeed();
+        assertThatThrownBy(underTest::fail).isInstanceOf(IllegalStateException.class);
+
+        // then
+        var success = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tag("method", "Timed.succeed")
+                .tag("outcome", "success")
+                .timer();
+        var failure = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .tag("method", "Timed.fail")
+                .tag("outcome", "IllegalStateException")
+                .timer();
+        assertThat(success.count()).isEqualTo(2);
+        assertThat(failure.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishSloBuckets() {
+        // when
+        underTest.succeed();
+
+        // then
+        var buckets = meterRegistry.get(LoggingAspect.TIMER_NAME)
+                .timer()
+                .takeSnapshot()
+                .histogramCounts();
+        assertThat(buckets).extracting(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .contains(10.0, 100.0);
+    }
+
+    static class Timed {
+
+        @LogExecutionTime
+        public String succeed() {
+            return "ok";
+        }
+
+        @LogExecutionTime
+        public String fail() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
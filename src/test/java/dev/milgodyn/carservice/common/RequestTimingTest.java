@@ -0,0 +1,52 @@
+package dev.milgodyn.carservice.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void shouldReportSelfTimePerPhase() throws InterruptedException {
+        // given
+        var underTest = RequestTiming.begin();
+
+        // when
+        underTest.enter("service", "CarService.get(..)");
+        underTest.enter("repository", "CarRepository.findById(..)");
+        Thread.sleep(20);
+        underTest.exit();
+        underTest.enter("repository", "CarRepository.findById(..)");
+        underTest.exit();
+        underTest.exit();
+
+        // then
+        var header = underTest.toServerTiming(underTest.elapsedNanos());
+        assertThat(header).startsWith("service;desc=\"1 call\";dur=")
+                .containsPattern(", repository;desc=\"2 calls\";dur=[1-9]\\d+\\.\\d{3}, ")
+                .containsPattern(", total;dur=\\d+\\.\\d{3}$");
+        assertThat(underTest.toTree().lines()).hasSize(3)
+                .satisfiesExactly(
+                        line -> assertThat(line).matches("  service CarService\\.get\\(\\.\\.\\) \\d+\\.\\d{3} ms"),
+                        line -> assertThat(line).matches("    repository CarRepository\\.findById\\(\\.\\.\\) [1-9]\\d+\\.\\d{3} ms"),
+                        line -> assertThat(line).startsWith("    repository CarRepository.findById(..) "));
+    }
+
+    @Test
+    void shouldOnlyBeCurrentBetweenBeginAndEnd() {
+        // when
+        var timing = RequestTiming.begin();
+        var during = RequestTiming.current();
+        RequestTiming.end();
+
+        // then
+        assertThat(during).isSameAs(timing);
+        assertThat(RequestTiming.current()).isNull();
+    }
+}
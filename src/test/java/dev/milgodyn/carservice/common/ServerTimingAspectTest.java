@@ -0,0 +1,23 @@
+package dev.milgodyn.carservice.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingAspectTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ServerTimingAspect.class);
+
+    @Test
+    void shouldNotRegisterPhaseAdvice_byDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(ServerTimingAspect.class));
+    }
+
+    @Test
+    void shouldRegisterPhaseAdvice_whenServerTimingEnabled() {
+        contextRunner.withPropertyValues("car-service.server-timing.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(ServerTimingAspect.class));
+    }
+}
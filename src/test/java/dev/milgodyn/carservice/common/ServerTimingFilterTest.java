@@ -0,0 +1,49 @@
+package dev.milgodyn.carservice.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "car-service.server-timing.enabled=true",
+        "car-service.server-timing.sql-statement-count-header=true"
+})
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReturnServerTimingOfAllPhases() throws Exception {
+        // when / then
+        mockMvc.perform(get("/v1/cars")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.SERVER_TIMING, allOf(
+                        containsString("controller;desc=\"1 call\";dur="),
+                        containsString("service;desc=\"1 call\";dur="),
+                        containsString("repository;"),
+                        containsString("mapper;"),
+                        containsString("serialization;desc=\"1 call\";dur="),
+                        containsString("total;dur="))))
+                .andExpect(header().string(SqlStatementCountFilter.SQL_STATEMENT_COUNT, "1"));
+    }
+
+    @Test
+    void shouldNotTimeNdjsonExport() throws Exception {
+        // when / then
+        mockMvc.perform(get("/v1/cars")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.milgodyn.carservice.common;
+
+import dev.milgodyn.carservice.config.ServerTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementCountFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRecordStatementsWithoutHeader_byDefault() throws Exception {
+        // given
+        var before = statementsSummaryCount("/v1/cars/stats");
+
+        // when / then
+        mockMvc.perform(get("/v1/cars/stats")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SqlStatementCountFilter.SQL_STATEMENT_COUNT))
+                .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING));
+
+        assertThat(statementsSummaryCount("/v1/cars/stats")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void shouldRecordStatementsOfStreamedExport() throws Exception {
+        // given
+        var before = statementsSummaryTotal("/v1/cars");
+
+        // when
+        var result = mockMvc.perform(get("/v1/cars")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(statementsSummaryTotal("/v1/cars")).isGreaterThanOrEqualTo(before + 1);
+    }
+
+    @Test
+    void shouldReturnHeader_whenEnabled() throws Exception {
+        // given
+        var underTest = new SqlStatementCountFilter(new ServerTimingProperties(false, Duration.ofMillis(500), true),
+                new SimpleMeterRegistry());
+        var response = new MockHttpServletResponse();
+
+        // when
+        underTest.doFilter(new MockHttpServletRequest("GET", "/v1/cars"), response, new MockFilterChain());
+
+        // then
+        assertThat(response.getHeader(SqlStatementCountFilter.SQL_STATEMENT_COUNT)).isEqualTo("0");
+    }
+
+    private long statementsSummaryCount(String uri) {
+        var summary = meterRegistry.find(SqlStatementCountFilter.STATEMENTS_METRIC).tag("uri", uri).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private double statementsSummaryTotal(String uri) {
+        var summary = meterRegistry.find(SqlStatementCountFilter.STATEMENTS_METRIC).tag("uri", uri).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
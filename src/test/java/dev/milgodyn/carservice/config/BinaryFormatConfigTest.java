@@ -0,0 +1,201 @@
+package dev.milgodyn.carservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "car-service.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class BinaryFormatConfigTest {
+
+    private static final String VIN = "1HGCM82633A004352";
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldCreateAndReturnCarAsCbor() throws Exception {
+        // given
+        var cbor = new CBORMapper();
+
+        // when
+        var response = mockMvc.perform(post("/v1/car")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cbor.writeValueAsBytes(car())))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string("Server-Timing", containsString("serialization;")))
+                .andReturn()
+                .getResponse();
+
+        // then
+        var car = cbor.readTree(response.getContentAsByteArray());
+        assertThat(propertyNames(cbor, response.getContentAsByteArray()))
+                .startsWith("vin", "brand", "model", "production_year", "mileage", "fuel_type");
+        assertThat(car.get("registration_date").asText()).isEqualTo("2020-05-15");
+    }
+
+    @Test
+    void shouldReturnCarAsSmile() throws Exception {
+        // given
+        var smile = new SmileMapper();
+        mockMvc.perform(post("/v1/car")
+                        .contentType(SMILE)
+                        .content(smile.writeValueAsBytes(car())))
+                .andExpect(status().isCreated());
+
+        // when
+        var response = mockMvc.perform(get("/v1/car/" + VIN)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn()
+                .getResponse();
+
+        // then
+        assertThat(smile.readTree(response.getContentAsByteArray()).get("vin").asText()).isEqualTo(VIN);
+        assertThat(propertyNames(smile, response.getContentAsByteArray()))
+                .endsWith("technical_inspection_expiration_date", "created");
+    }
+
+    @Test
+    void shouldNotValidateCachedJsonCar_whenCarRequestedAsCbor() throws Exception {
+        // given
+        mockMvc.perform(post("/v1/car")
+                        .contentType(CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(car())))
+                .andExpect(status().isCreated());
+        var jsonEtag = mockMvc.perform(get("/v1/car/" + VIN)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // when / then
+        var cborEtag = mockMvc.perform(get("/v1/car/" + VIN)
+                        .accept(CBOR)
+                        .header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertThat(cborEtag).isNotEqualTo(jsonEtag);
+        mockMvc.perform(get("/v1/car/" + VIN)
+                        .accept(CBOR)
+                        .header("If-None-Match", cborEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void shouldTagFormatSelectedByQuality() throws Exception {
+        // given
+        mockMvc.perform(post("/v1/car")
+                        .contentType(CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(car())))
+                .andExpect(status().isCreated());
+
+        // when / then
+        mockMvc.perform(get("/v1/car/" + VIN)
+                        .header("Accept", "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string("ETag", endsWith("-cbor\"")));
+    }
+
+    @Test
+    void shouldNotValidateCachedJsonPage_whenPageRequestedAsSmile() throws Exception {
+        // given
+        var jsonEtag = mockMvc.perform(get("/v1/cars")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // when / then
+        mockMvc.perform(get("/v1/cars")
+                        .accept(SMILE)
+                        .header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void shouldReturnErrorResponseAsCbor() throws Exception {
+        // given
+        var cbor = new CBORMapper();
+
+        // when
+        var response = mockMvc.perform(get("/v1/car/NON_EXISTENT_VIN")
+                        .accept(CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(CBOR))
+                .andReturn()
+                .getResponse();
+
+        // then
+        assertThat(propertyNames(cbor, response.getContentAsByteArray()))
+                .containsExactly("timestamp", "status", "error", "path");
+        assertThat(cbor.readTree(response.getContentAsByteArray()).get("status").asInt()).isEqualTo(404);
+    }
+
+    private static Map<String, Object> car() {
+        var car = new LinkedHashMap<String, Object>();
+        car.put("vin", VIN);
+        car.put("brand", "Toyota");
+        car.put("model", "Corolla");
+        car.put("production_year", 2020);
+        car.put("mileage", 50000);
+        car.put("fuel_type", "GASOLINE");
+        car.put("engine_capacity", 1.8);
+        car.put("color", "Black");
+        car.put("transmission", "MANUAL");
+        car.put("owner", "John Doe");
+        car.put("price", 25000.00);
+        car.put("registration_date", "2020-05-15");
+        return car;
+    }
+
+    private static ArrayList<String> propertyNames(ObjectMapper mapper, byte[] content) throws IOException {
+        var names = new ArrayList<String>();
+        mapper.readTree(content).fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
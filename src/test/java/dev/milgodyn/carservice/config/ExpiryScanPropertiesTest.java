@@ -0,0 +1,37 @@
+package dev.milgodyn.carservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiryScanPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void shouldBindSinkIgnoringCase() {
+        contextRunner.withPropertyValues("car-service.expiry-scan.sink=queue")
+                .run(context -> assertThat(context.getBean(ExpiryScanProperties.class).sink())
+                        .isEqualTo(ExpiryScanProperties.Sink.QUEUE));
+    }
+
+    @Test
+    void shouldDefaultToLogSink() {
+        contextRunner.run(context -> assertThat(context.getBean(ExpiryScanProperties.class).sink())
+                .isEqualTo(ExpiryScanProperties.Sink.LOG));
+    }
+
+    @Test
+    void shouldFailStartupNamingProperty_whenSinkUnknown() {
+        contextRunner.withPropertyValues("car-service.expiry-scan.sink=kafka")
+                .run(context -> assertThat(context).getFailure()
+                        .hasStackTraceContaining("car-service.expiry-scan.sink"));
+    }
+
+    @EnableConfigurationProperties(ExpiryScanProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,154 @@
+package dev.milgodyn.carservice.dto;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that {@link CarDtoSerializer} and {@link CarDtoDeserializer} produce and accept the same
+ * payloads as Jackson's bean serialization of {@link CarDto}.
+ */
+class CarDtoCodecTest {
+
+    private final ObjectMapper codec = mapper(false);
+    private final ObjectMapper reference = mapper(false).addMixIn(CarDto.class, BeanCodec.class);
+
+    static List<CarDto> cars() {
+        return List.of(
+                new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black",
+                        TransmissionType.MANUAL, "John \"JD\" Doe", 25000.00, "XYZ123456", LocalDate.of(2020, 5, 15),
+                        LocalDate.of(2023, 5, 15), LocalDate.of(2024, 5, 15), LocalDateTime.of(2024, 5, 15, 10, 0)),
+                new CarDto("1HGCM82633A004353", "Tesla", "Model 3", 2023, 0, FuelType.ELECTRIC, 0.1, "White",
+                        TransmissionType.AUTOMATIC, "Jane Smith", 0.5, null, null, null, LocalDate.of(12024, 1, 1),
+                        LocalDateTime.of(2024, 1, 2, 3, 4, 5, 120_000_000)),
+                new CarDto("1HGCM82633A004354", null, null, null, null, null, null, null, null, null, null, null, null,
+                        null, null, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 7))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("cars")
+    void shouldWriteSameJsonAsBeanSerializer(CarDto car) throws Exception {
+        // when
+        var actual = codec.writeValueAsString(car);
+
+        // then
+        assertThat(actual).isEqualTo(reference.writeValueAsString(car));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cars")
+    void shouldWriteSameJsonAsBeanSerializer_whenDatesWrittenAsTimestamps(CarDto car) throws Exception {
+        // given
+        var timestamps = mapper(true);
+        var timestampsReference = mapper(true).addMixIn(CarDto.class, BeanCodec.class);
+
+        // when
+        var actual = timestamps.writeValueAsString(car);
+
+        // then
+        assertThat(actual).isEqualTo(timestampsReference.writeValueAsString(car));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cars")
+    void shouldReadWhatItWrites(CarDto car) throws Exception {
+        // given
+        var smile = Jackson2ObjectMapperBuilder.json()
+                .factory(new SmileFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        // when / then
+        assertThat(codec.readValue(codec.writeValueAsString(car), CarDto.class)).isEqualTo(car);
+        assertThat(smile.readValue(smile.writeValueAsBytes(car), CarDto.class)).isEqualTo(car);
+    }
+
+    @Test
+    void shouldReadLenientInputLikeBeanDeserializer() throws Exception {
+        // given
+        var json = """
+                {
+                  "unknown": {"nested": [1, 2]},
+                  "vin": "1HGCM82633A004352",
+                  "production_year": "2020",
+                  "mileage": 50000.0,
+                  "fuel_type": "gasoline",
+                  "engine_capacity": 2,
+                  "transmission": null,
+                  "price": "25000.5",
+                  "registration_number": 123,
+                  "registration_date": "2020-05-15T10:15:30",
+                  "insurance_expiration_date": "2023-02-28",
+                  "created": "2024-05-15T10:00"
+                }
+                """;
+
+        // when
+        var actual = codec.readValue(json, CarDto.class);
+
+        // then
+        assertThat(actual).isEqualTo(reference.readValue(json, CarDto.class));
+        assertThat(actual.productionYear()).isEqualTo(2020);
+        assertThat(actual.registrationDate()).isEqualTo(LocalDate.of(2020, 5, 15));
+    }
+
+    @Test
+    void shouldRejectUnknownEnumValue() {
+        // when / then
+        assertThatThrownBy(() -> codec.readValue("{\"fuel_type\": \"steam\"}", CarDto.class))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessageContaining("property=<fuel_type>");
+    }
+
+    @Test
+    void shouldFormatAndParseDates() {
+        // given
+        var buffer = new char[29];
+
+        // when / then
+        assertThat(new String(buffer, 0, CarDtoSerializer.formatDate(987, 1, 2, buffer))).isEqualTo("0987-01-02");
+        assertThat(new String(buffer, 0, CarDtoSerializer.formatDateTime(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999), buffer)))
+                .isEqualTo("2024-12-31T23:59:59.999999999");
+        assertThat(CarDtoDeserializer.parseDate("2024-02-29")).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(CarDtoDeserializer.parseDate("2023-02-29")).isNull();
+        assertThat(CarDtoDeserializer.parseDate("2023-1-290")).isNull();
+        assertThat(CarDtoDeserializer.parseDate("20x3-01-29")).isNull();
+        assertThat(CarDtoDeserializer.parseDateTime("2024-05-15T10:00:00")).isEqualTo(LocalDateTime.of(2024, 5, 15, 10, 0));
+        assertThat(CarDtoDeserializer.parseDateTime("2024-05-15T10:00:01.12")).isEqualTo(LocalDateTime.of(2024, 5, 15, 10, 0, 1, 120_000_000));
+        assertThat(CarDtoDeserializer.parseDateTime("2024-05-15T10:00:01.123456789")).isEqualTo(LocalDateTime.of(2024, 5, 15, 10, 0, 1, 123_456_789));
+        assertThat(CarDtoDeserializer.parseDateTime("2024-05-15T10:00")).isNull();
+        assertThat(CarDtoDeserializer.parseDateTime("2024-05-15T24:00:00")).isNull();
+        assertThat(CarDtoDeserializer.parseDateTime("2024-05-15T10:00:00Z")).isNull();
+    }
+
+    private static ObjectMapper mapper(boolean datesAsTimestamps) {
+        var builder = Jackson2ObjectMapperBuilder.json();
+        return datesAsTimestamps
+                ? builder.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()
+                : builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private interface BeanCodec {
+    }
+}
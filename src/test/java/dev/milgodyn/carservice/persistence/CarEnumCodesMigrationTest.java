@@ -0,0 +1,49 @@
+package dev.milgodyn.carservice.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarEnumCodesMigrationTest {
+
+    @Test
+    void shouldReplaceEnumNamesWithCodes() throws SQLException {
+        try (var connection = DriverManager.getConnection("jdbc:h2:mem:migration", "sa", "")) {
+            // given
+            try (var statement = connection.createStatement()) {
+                statement.execute("""
+                        CREATE TABLE car (
+                            vin VARCHAR(17) PRIMARY KEY,
+                            fuel_type VARCHAR(20) NOT NULL,
+                            transmission VARCHAR(30) NOT NULL
+                        )""");
+                statement.execute("""
+                        INSERT INTO car VALUES
+                            ('1HGCM82633A000001', 'GASOLINE', 'MANUAL'),
+                            ('1HGCM82633A000002', 'HYBRID', 'AUTOMATIC')""");
+            }
+
+            // when
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/car_enum_codes.sql"));
+
+            // then
+            try (var statement = connection.createStatement();
+                 var rows = statement.executeQuery("SELECT vin, fuel_type, transmission FROM car ORDER BY vin")) {
+                assertThat(rows.getMetaData().getColumnType(2)).isEqualTo(Types.SMALLINT);
+                assertThat(rows.getMetaData().getColumnType(3)).isEqualTo(Types.SMALLINT);
+                assertThat(rows.next()).isTrue();
+                assertThat(rows.getShort("fuel_type")).isEqualTo((short) 1);
+                assertThat(rows.getShort("transmission")).isEqualTo((short) 1);
+                assertThat(rows.next()).isTrue();
+                assertThat(rows.getShort("fuel_type")).isEqualTo((short) 4);
+                assertThat(rows.getShort("transmission")).isEqualTo((short) 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.milgodyn.carservice.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.DriverManager;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarVersionMigrationTest {
+
+    @Test
+    void shouldAddAndBackfillVersion() throws SQLException {
+        try (var connection = DriverManager.getConnection("jdbc:h2:mem:version-migration", "sa", "")) {
+            // given
+            try (var statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE car (vin VARCHAR(17) PRIMARY KEY)");
+                statement.execute("INSERT INTO car VALUES ('1HGCM82633A000001'), ('1HGCM82633A000002')");
+            }
+
+            // when
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/car_version.sql"));
+
+            // then
+            try (var statement = connection.createStatement();
+                 var rows = statement.executeQuery("SELECT version FROM car ORDER BY vin")) {
+                assertThat(rows.getMetaData().isNullable(1)).isEqualTo(ResultSetMetaData.columnNoNulls);
+                assertThat(rows.next()).isTrue();
+                assertThat(rows.getLong("version")).isZero();
+                assertThat(rows.next()).isTrue();
+                assertThat(rows.getLong("version")).isZero();
+            }
+        }
+    }
+}
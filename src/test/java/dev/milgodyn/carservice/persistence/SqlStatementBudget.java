@@ -0,0 +1,32 @@
+package dev.milgodyn.carservice.persistence;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts how many SQL statements an operation may run, counted by {@link SqlStatementCounter} on the
+ * calling thread. Meant for tests against a real database, where hidden SELECTs of {@code merge},
+ * {@code existsById} or derived deletes would otherwise go unnoticed.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> operation) {
+        var before = SqlStatementCounter.count();
+        var result = operation.get();
+        assertThat(SqlStatementCounter.count() - before)
+                .as("SQL statements")
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable operation) {
+        assertAtMost(maxStatements, () -> {
+            operation.run();
+            return null;
+        });
+    }
+}
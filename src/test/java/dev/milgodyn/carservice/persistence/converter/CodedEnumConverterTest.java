@@ -0,0 +1,51 @@
+package dev.milgodyn.carservice.persistence.converter;
+
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodedEnumConverterTest {
+
+    private final FuelTypeConverter fuelTypeConverter = new FuelTypeConverter();
+    private final TransmissionTypeConverter transmissionTypeConverter = new TransmissionTypeConverter();
+
+    @Test
+    void shouldRoundTripEveryConstantThroughItsCode() {
+        // when / then
+        assertThat(FuelType.values()).allSatisfy(fuelType -> assertThat(
+                fuelTypeConverter.convertToEntityAttribute(fuelTypeConverter.convertToDatabaseColumn(fuelType)))
+                .isEqualTo(fuelType));
+        assertThat(TransmissionType.values()).allSatisfy(transmission -> assertThat(
+                transmissionTypeConverter.convertToEntityAttribute(transmissionTypeConverter.convertToDatabaseColumn(transmission)))
+                .isEqualTo(transmission));
+    }
+
+    @Test
+    void shouldKeepCodesUsedByExistingRows() {
+        // when / then
+        assertThat(Arrays.stream(FuelType.values()).map(fuelTypeConverter::convertToDatabaseColumn))
+                .containsExactly((short) 1, (short) 2, (short) 3, (short) 4);
+        assertThat(Arrays.stream(TransmissionType.values()).map(transmissionTypeConverter::convertToDatabaseColumn))
+                .containsExactly((short) 1, (short) 2);
+    }
+
+    @Test
+    void shouldConvertNull() {
+        // when / then
+        assertThat(fuelTypeConverter.convertToDatabaseColumn(null)).isNull();
+        assertThat(fuelTypeConverter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void shouldThrowException_whenCodeIsUnknown() {
+        // when / then
+        assertThatThrownBy(() -> transmissionTypeConverter.convertToEntityAttribute((short) 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown TransmissionType code: 3");
+    }
+}
@@ -0,0 +1,319 @@
+package dev.milgodyn.carservice.persistence.repository;
+
+import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.projection.CarFacetValues;
+import dev.milgodyn.carservice.persistence.projection.CarGroupStats;
+import dev.milgodyn.carservice.persistence.projection.CarYearCount;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class CarRepositoryTest {
+
+    @Autowired
+    private CarRepository underTest;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        underTest.saveAll(List.of(
+                car("1HGCM82633A000001", 2018),
+                car("1HGCM82633A000002", 2020),
+                car("1HGCM82633A000003", 2020),
+                car("1HGCM82633A000004", 2021),
+                car("1HGCM82633A000005", 2019)
+        ));
+    }
+
+    @Test
+    void shouldScrollThroughAllCarsUsingKeyset() {
+        // given
+        var sort = Sort.by(Sort.Direction.DESC, "productionYear").and(Sort.by(Sort.Direction.DESC, "vin"));
+        var visitedVins = new ArrayList<String>();
+
+        // when
+        var window = underTest.findBy(ScrollPosition.keyset(), sort, Limit.of(2));
+        window.forEach(car -> visitedVins.add(car.getVin()));
+        while (window.hasNext()) {
+            window = underTest.findBy(window.positionAt(window.size() - 1), sort, Limit.of(2));
+            window.forEach(car -> visitedVins.add(car.getVin()));
+        }
+
+        // then
+        assertThat(visitedVins).containsExactly(
+                "1HGCM82633A000004",
+                "1HGCM82633A000003",
+                "1HGCM82633A000002",
+                "1HGCM82633A000005",
+                "1HGCM82633A000001"
+        );
+    }
+
+    @Test
+    void shouldReadFacetValuesWithoutEntities() {
+        // when
+        var single = underTest.findFacetValuesForUpdateByVin("1HGCM82633A000004");
+        try (var all = underTest.streamAllFacetValues()) {
+            // then
+            assertThat(single).contains(new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2021));
+            assertThat(all.map(CarFacetValues::productionYear)).containsExactlyInAnyOrder(2018, 2019, 2020, 2020, 2021);
+        }
+    }
+
+    @Test
+    void shouldFindExpiringCarsInKeysetBatches() {
+        // given
+        var today = LocalDate.of(2024, 6, 1);
+        var expiringSoon = car("1HGCM82633A000006", 2022);
+        expiringSoon.setInsuranceExpirationDate(today.plusDays(10));
+        var expiringSameDay = car("1HGCM82633A000007", 2022);
+        expiringSameDay.setInsuranceExpirationDate(today.plusDays(10));
+        var expiringFirst = car("1HGCM82633A000008", 2022);
+        expiringFirst.setInsuranceExpirationDate(today);
+        var expiringLater = car("1HGCM82633A000009", 2022);
+        expiringLater.setInsuranceExpirationDate(today.plusDays(60));
+        expiringLater.setTechnicalInspectionExpirationDate(today.plusDays(5));
+        underTest.saveAll(List.of(expiringSoon, expiringSameDay, expiringFirst, expiringLater));
+
+        // when
+        var firstBatch = underTest.findExpiring(CarDocument.INSURANCE, today, today.plusDays(30), null, null, 2);
+        var last = firstBatch.getLast();
+        var secondBatch = underTest.findExpiring(CarDocument.INSURANCE, today, today.plusDays(30), last.expirationDate(), last.vin(), 2);
+        var inspections = underTest.findExpiring(CarDocument.TECHNICAL_INSPECTION, today, today.plusDays(30), null, null, 2);
+
+        // then
+        assertThat(firstBatch).extracting(CarExpiry::vin).containsExactly("1HGCM82633A000008", "1HGCM82633A000006");
+        assertThat(secondBatch).extracting(CarExpiry::vin).containsExactly("1HGCM82633A000007");
+        assertThat(inspections).containsExactly(new CarExpiry("1HGCM82633A000009", "John Doe", null, today.plusDays(5)));
+    }
+
+    @Test
+    void shouldSelectOnlyGivenFields() {
+        // when
+        var actual = underTest.findFieldsByVin("1HGCM82633A000004", EnumSet.of(CarField.BRAND, CarField.PRODUCTION_YEAR));
+        var unknown = underTest.findFieldsByVin("NON_EXISTENT_VIN", EnumSet.of(CarField.BRAND));
+
+        // then
+        assertThat(actual).contains(Map.of(CarField.BRAND, "Toyota", CarField.PRODUCTION_YEAR, 2021));
+        assertThat(unknown).isEmpty();
+    }
+
+    @Test
+    void shouldScrollThroughSelectedFieldsUsingKeyset() {
+        // given
+        var fields = EnumSet.of(CarField.VIN, CarField.PRODUCTION_YEAR);
+
+        // when
+        var firstPage = underTest.findFields(fields, CarSortField.PRODUCTION_YEAR, Sort.Direction.DESC, null, null, 2);
+        var last = firstPage.getLast();
+        var secondPage = underTest.findFields(fields, CarSortField.PRODUCTION_YEAR, Sort.Direction.DESC,
+                last.get(CarField.PRODUCTION_YEAR), (String) last.get(CarField.VIN), 2);
+        var byVin = underTest.findFields(fields, CarSortField.VIN, Sort.Direction.ASC, null, "1HGCM82633A000003", 5);
+
+        // then
+        assertThat(firstPage).extracting(car -> car.get(CarField.VIN)).containsExactly("1HGCM82633A000004", "1HGCM82633A000003");
+        assertThat(secondPage).extracting(car -> car.get(CarField.VIN)).containsExactly("1HGCM82633A000002", "1HGCM82633A000005");
+        assertThat(byVin).extracting(car -> car.get(CarField.VIN)).containsExactly("1HGCM82633A000004", "1HGCM82633A000005");
+        assertThat(firstPage.getFirst()).containsOnlyKeys(CarField.VIN, CarField.PRODUCTION_YEAR);
+    }
+
+    @Test
+    void shouldStreamAllCars() {
+        // when
+        try (var cars = underTest.streamAll()) {
+            // then
+            assertThat(cars.map(CarEntity::getVin)).hasSize(5);
+        }
+    }
+
+    @Test
+    void shouldPersistAllAndFindExistingVins() {
+        // given
+        underTest.persistAll(List.of(car("1HGCM82633A000006", 2022), car("1HGCM82633A000007", 2023)));
+
+        // when
+        var actual = underTest.findExistingVins(List.of("1HGCM82633A000001", "1HGCM82633A000007", "NON_EXISTENT_VIN"));
+
+        // then
+        assertThat(actual).containsExactlyInAnyOrder("1HGCM82633A000001", "1HGCM82633A000007");
+        assertThat(underTest.count()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldPatchOnlyGivenColumnsAndBumpVersion() {
+        // given
+        var before = underTest.findById("1HGCM82633A000002").orElseThrow();
+        var versionBefore = before.getVersion();
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        var updated = underTest.patch("1HGCM82633A000002", Map.of("mileage", 60000, "transmission", TransmissionType.AUTOMATIC));
+
+        // then
+        var after = underTest.findById("1HGCM82633A000002").orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(after.getMileage()).isEqualTo(60000);
+        assertThat(after.getTransmission()).isEqualTo(TransmissionType.AUTOMATIC);
+        assertThat(after.getOwner()).isEqualTo("John Doe");
+        assertThat(after.getVersion()).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void shouldPatchNothing_whenVinUnknown() {
+        // when
+        var updated = underTest.patch("NON_EXISTENT_VIN", Map.of("mileage", 60000));
+
+        // then
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    void shouldDeleteByVinReturningRowCount() {
+        // given
+        entityManager.flush();
+
+        // when
+        var deleted = underTest.deleteByVin("1HGCM82633A000003");
+        var notDeleted = underTest.deleteByVin("NON_EXISTENT_VIN");
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(notDeleted).isZero();
+        assertThat(underTest.existsById("1HGCM82633A000003")).isFalse();
+        assertThat(underTest.count()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldFindCarsMatchingAllGivenSpecifications() {
+        // given
+        var hybrid = car("1HGCM82633A000006", 2022);
+        hybrid.setFuelType(FuelType.HYBRID);
+        hybrid.setPrice(31000.0);
+        var cheapHybrid = car("1HGCM82633A000007", 2021);
+        cheapHybrid.setFuelType(FuelType.HYBRID);
+        cheapHybrid.setPrice(18000.0);
+        underTest.saveAll(List.of(hybrid, cheapHybrid));
+
+        var specification = Specification.allOf(
+                CarSpecifications.hasBrand("Toyota"),
+                CarSpecifications.hasFuelType(FuelType.HYBRID),
+                CarSpecifications.productionYearBetween(2020, null),
+                CarSpecifications.priceBetween(null, 20000.0),
+                CarSpecifications.hasOwner(null)
+        );
+
+        // when
+        var actual = underTest.findAll(specification);
+
+        // then
+        assertThat(actual).extracting(CarEntity::getVin).containsExactly("1HGCM82633A000007");
+    }
+
+    @Test
+    void shouldScrollThroughSearchResults() {
+        // given
+        var sort = Sort.by(Sort.Direction.ASC, "vin");
+        var specification = CarSpecifications.productionYearBetween(2019, 2020);
+
+        // when
+        var firstPage = underTest.findBy(specification, query -> query.sortBy(sort).limit(2).scroll(ScrollPosition.keyset()));
+        var secondPage = underTest.findBy(specification, query -> query.sortBy(sort).limit(2)
+                .scroll(firstPage.positionAt(firstPage.size() - 1)));
+
+        // then
+        assertThat(firstPage).extracting(CarEntity::getVin).containsExactly("1HGCM82633A000002", "1HGCM82633A000003");
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(secondPage).extracting(CarEntity::getVin).containsExactly("1HGCM82633A000005");
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldAggregateCarsPerGroup() {
+        // given
+        var honda = car("1HGCM82633A000006", 2020);
+        honda.setBrand("Honda");
+        honda.setMileage(10000);
+        honda.setPrice(20000.0);
+        underTest.saveAll(List.of(honda));
+
+        // when
+        var actual = underTest.aggregate(CarGroupField.BRAND);
+
+        // then
+        assertThat(actual).containsExactly(
+                new CarGroupStats("Honda", 1, 20000.0, 10000.0),
+                new CarGroupStats("Toyota", 5, null, 50000.0)
+        );
+    }
+
+    @Test
+    void shouldAggregateAllCars_whenNotGrouped() {
+        // when
+        var actual = underTest.aggregate(null);
+
+        // then
+        assertThat(actual).containsExactly(new CarGroupStats(null, 5, null, 50000.0));
+    }
+
+    @Test
+    void shouldCountCarsPerGroupAndProductionYear() {
+        // given
+        var diesel = car("1HGCM82633A000006", 2020);
+        diesel.setFuelType(FuelType.DIESEL);
+        underTest.saveAll(List.of(diesel));
+
+        // when
+        var actual = underTest.countByProductionYear(CarGroupField.FUEL_TYPE);
+
+        // then
+        assertThat(actual).containsExactly(
+                new CarYearCount("GASOLINE", 2018, 1),
+                new CarYearCount("GASOLINE", 2019, 1),
+                new CarYearCount("GASOLINE", 2020, 2),
+                new CarYearCount("GASOLINE", 2021, 1),
+                new CarYearCount("DIESEL", 2020, 1)
+        );
+    }
+
+    private static CarEntity car(String vin, int productionYear) {
+        var car = new CarEntity();
+        car.setVin(vin);
+        car.setBrand("Toyota");
+        car.setModel("Corolla");
+        car.setProductionYear(productionYear);
+        car.setMileage(50000);
+        car.setFuelType(FuelType.GASOLINE);
+        car.setEngineCapacity(1.8);
+        car.setColor("Black");
+        car.setTransmission(TransmissionType.MANUAL);
+        car.setOwner("John Doe");
+        car.setCreated(LocalDateTime.now());
+        return car;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CarCacheTest {
+
+    private CarCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CarCache(new ConcurrentMapCacheManager(CarCache.NAME));
+    }
+
+    @Test
+    void shouldReturnCachedCar_untilEvicted() {
+        // given
+        var carDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        // when
+        underTest.put(new Versioned<>(carDto, "\"18f-1\""));
+
+        // then
+        assertThat(underTest.get("1HGCM82633A004352")).contains(new Versioned<>(carDto, "\"18f-1\""));
+        underTest.evict("1HGCM82633A004352");
+        assertThat(underTest.get("1HGCM82633A004352")).isEmpty();
+    }
+
+    @Test
+    void shouldDeferChanges_untilTransactionCommits() {
+        // given
+        var carDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            underTest.put(new Versioned<>(carDto, "\"18f-1\""));
+
+            // then
+            assertThat(underTest.get("1HGCM82633A004352")).isEmpty();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(underTest.get("1HGCM82633A004352")).contains(new Versioned<>(carDto, "\"18f-1\""));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldFailFast_whenCacheNotConfigured() {
+        // given
+        var cacheManager = new ConcurrentMapCacheManager("other");
+
+        // when / then
+        assertThatThrownBy(() -> new CarCache(cacheManager))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("Cache 'cars' is not configured");
+    }
+}
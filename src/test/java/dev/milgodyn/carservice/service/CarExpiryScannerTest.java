@@ -0,0 +1,78 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.config.ExpiryScanProperties;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CarExpiryScannerTest {
+
+    private final CarRepository repository = mock(CarRepository.class);
+    private final CarExpirySink sink = mock(CarExpirySink.class);
+    private final CarExpirySink.Report report = mock(CarExpirySink.Report.class);
+    private final CarExpiryScanner underTest = new CarExpiryScanner(repository, sink,
+            new ExpiryScanProperties(true, "-", 30, 2, ExpiryScanProperties.Sink.LOG, Path.of("expiry-reports"), 10, Duration.ofSeconds(5)));
+
+    @BeforeEach
+    void setUp() {
+        when(sink.open(any(), any())).thenReturn(report);
+    }
+
+    @Test
+    void shouldReportExpiringCarsInBatches() {
+        // given
+        var date = LocalDate.now().plusDays(7);
+        var first = new CarExpiry("1HGCM82633A000001", "John Doe", null, date);
+        var second = new CarExpiry("1HGCM82633A000002", "John Doe", null, date);
+        var third = new CarExpiry("1HGCM82633A000003", "Jane Doe", null, date);
+        when(repository.findExpiring(any(), any(), any(), any(), any(), eq(2))).thenReturn(List.of());
+        when(repository.findExpiring(eq(CarDocument.INSURANCE), any(), any(), eq(null), eq(null), eq(2)))
+                .thenReturn(List.of(first, second));
+        when(repository.findExpiring(eq(CarDocument.INSURANCE), any(), any(), eq(date), eq(second.vin()), eq(2)))
+                .thenReturn(List.of(third));
+        when(repository.findExpiring(eq(CarDocument.TECHNICAL_INSPECTION), any(), any(), eq(null), eq(null), eq(2)))
+                .thenReturn(List.of(first));
+
+        // when
+        var actual = underTest.scan();
+
+        // then
+        assertThat(actual).isEqualTo(4);
+        InOrder inOrder = inOrder(sink, report);
+        inOrder.verify(sink).open(LocalDate.now(), LocalDate.now().plusDays(30));
+        inOrder.verify(report).accept(List.of(CarExpiryDto.of(CarDocument.INSURANCE, first), CarExpiryDto.of(CarDocument.INSURANCE, second)));
+        inOrder.verify(report).accept(List.of(CarExpiryDto.of(CarDocument.INSURANCE, third)));
+        inOrder.verify(report).accept(List.of(CarExpiryDto.of(CarDocument.TECHNICAL_INSPECTION, first)));
+        inOrder.verify(report).complete();
+        inOrder.verify(report).close();
+        verify(repository, times(3)).findExpiring(any(), any(), any(), any(), any(), eq(2));
+    }
+
+    @Test
+    void shouldCloseReportWithoutCompleting_whenScanFails() {
+        // given
+        when(repository.findExpiring(any(), any(), any(), any(), any(), eq(2))).thenThrow(new IllegalStateException("Database down"));
+
+        // when / then
+        assertThatThrownBy(underTest::scan).isInstanceOf(IllegalStateException.class);
+
+        verify(report).close();
+        verify(report, never()).complete();
+        verify(report, never()).accept(any());
+    }
+}
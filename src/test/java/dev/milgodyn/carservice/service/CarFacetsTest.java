@@ -0,0 +1,69 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.persistence.projection.CarFacetValues;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CarFacetsTest {
+
+    private CarRepository carRepository;
+    private CarFacets underTest;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = mock(CarRepository.class);
+        underTest = new CarFacets(carRepository, new NoOpTransactionManager());
+    }
+
+    @Test
+    void shouldCountAllCarsFromTable_afterStartup() {
+        // given
+        when(carRepository.streamAllFacetValues()).thenReturn(Stream.of(
+                new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020),
+                new CarFacetValues("Toyota", FuelType.HYBRID, TransmissionType.AUTOMATIC, 2021),
+                new CarFacetValues("Honda", FuelType.GASOLINE, TransmissionType.MANUAL, 2020)
+        ));
+
+        // when
+        underTest.afterSingletonsInstantiated();
+
+        // then
+        var actual = underTest.snapshot();
+        assertThat(actual.brand()).isEqualTo(Map.of("Honda", 1L, "Toyota", 2L));
+        assertThat(actual.fuelType()).isEqualTo(Map.of("GASOLINE", 2L, "HYBRID", 1L));
+        assertThat(actual.transmission()).isEqualTo(Map.of("AUTOMATIC", 1L, "MANUAL", 2L));
+        assertThat(actual.productionYear()).isEqualTo(Map.of(2020, 2L, 2021, 1L));
+    }
+
+    @Test
+    void shouldFollowCreatesUpdatesAndDeletes() {
+        // given
+        when(carRepository.streamAllFacetValues()).thenReturn(Stream.empty());
+        underTest.afterSingletonsInstantiated();
+        var corolla = new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020);
+        var civic = new CarFacetValues("Honda", FuelType.DIESEL, TransmissionType.MANUAL, 2019);
+
+        // when
+        underTest.add(corolla);
+        underTest.add(civic);
+        underTest.replace(corolla, new CarFacetValues("Toyota", FuelType.HYBRID, TransmissionType.MANUAL, 2020));
+        underTest.remove(civic);
+
+        // then
+        var actual = underTest.snapshot();
+        assertThat(actual.brand()).isEqualTo(Map.of("Toyota", 1L));
+        assertThat(actual.fuelType()).isEqualTo(Map.of("HYBRID", 1L));
+        assertThat(actual.transmission()).isEqualTo(Map.of("MANUAL", 1L));
+        assertThat(actual.productionYear()).isEqualTo(Map.of(2020, 1L));
+    }
+}
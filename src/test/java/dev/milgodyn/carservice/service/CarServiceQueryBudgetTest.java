@@ -0,0 +1,122 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
+import dev.milgodyn.carservice.persistence.type.FuelType;
+import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static dev.milgodyn.carservice.persistence.SqlStatementBudget.assertAtMost;
+
+/**
+ * Number of SQL statements each {@link CarService} operation may run against the real database.
+ * Lowering a budget is welcome; raising one needs a reason.
+ */
+@SpringBootTest(properties = "spring.cache.type=none")
+class CarServiceQueryBudgetTest {
+
+    private static final String VIN = "1HGCM82633A004352";
+
+    @Autowired
+    private CarService underTest;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createShouldOnlyInsert() {
+        assertAtMost(1, () -> underTest.create(car(VIN)));
+    }
+
+    @Test
+    void getShouldSelectOnce() {
+        underTest.create(car(VIN));
+
+        assertAtMost(1, () -> underTest.get(VIN));
+    }
+
+    @Test
+    void getFieldsShouldSelectOnce() {
+        underTest.create(car(VIN));
+
+        assertAtMost(1, () -> underTest.getFields(VIN, EnumSet.of(CarField.VIN, CarField.PRICE)));
+    }
+
+    @Test
+    void getCarFieldsPageShouldSelectOnce() {
+        underTest.create(car(VIN));
+        underTest.create(car("1HGCM82633A004353"));
+
+        assertAtMost(1, () -> underTest.getCarFieldsPage(null, 1, CarSortField.VIN, Sort.Direction.ASC, EnumSet.of(CarField.PRICE)));
+    }
+
+    @Test
+    void getAllCarsShouldSelectOnce() {
+        underTest.create(car(VIN));
+        underTest.create(car("1HGCM82633A004353"));
+
+        assertAtMost(1, () -> underTest.getAllCars());
+    }
+
+    @Test
+    void lookupShouldSelectOncePerChunk() {
+        underTest.create(car(VIN));
+        underTest.create(car("1HGCM82633A004353"));
+
+        assertAtMost(1, () -> underTest.lookup(List.of(VIN, "1HGCM82633A004353", "NON_EXISTENT_VIN")));
+    }
+
+    @Test
+    void updateShouldSelectAndUpdate() {
+        underTest.create(car(VIN));
+
+        assertAtMost(2, () -> underTest.update(VIN, partial()));
+    }
+
+    @Test
+    void patchShouldOnlyUpdate() {
+        underTest.create(car(VIN));
+
+        assertAtMost(1, () -> underTest.patch(VIN, partial()));
+    }
+
+    @Test
+    void patchOfFacetedFieldShouldLockFacetsAndUpdate() {
+        underTest.create(car(VIN));
+        var changeFuelType = new CarDto(null, null, null, null, null, FuelType.HYBRID, null, null, null, null, null, null, null, null, null, null);
+
+        assertAtMost(2, () -> underTest.patch(VIN, changeFuelType));
+    }
+
+    @Test
+    void deleteShouldLockFacetsAndDelete() {
+        underTest.create(car(VIN));
+
+        assertAtMost(2, () -> underTest.delete(VIN));
+    }
+
+    private static CarDto car(String vin) {
+        return new CarDto(vin, "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black",
+                TransmissionType.MANUAL, "John Doe", 25000.0, "XYZ123456", LocalDate.of(2020, 5, 15),
+                LocalDate.of(2025, 5, 15), LocalDate.of(2025, 6, 15), null);
+    }
+
+    private static CarDto partial() {
+        return new CarDto(null, null, null, null, 60000, null, null, "Red", null, null, null, null, null, null, null, null);
+    }
+}
@@ -1,27 +1,70 @@
 package dev.milgodyn.carservice.service;
 
+import dev.milgodyn.carservice.config.BatchCreateProperties;
+import dev.milgodyn.carservice.config.LookupProperties;
+import dev.milgodyn.carservice.config.PaginationProperties;
+import dev.milgodyn.carservice.dto.CarBatchItemResultDto;
+import dev.milgodyn.carservice.dto.CarBatchItemStatus;
 import dev.milgodyn.carservice.dto.CarDto;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.dto.CarFieldsPageDto;
+import dev.milgodyn.carservice.dto.CarGroupStatsDto;
+import dev.milgodyn.carservice.dto.CarSearchCriteria;
+import dev.milgodyn.carservice.dto.CarYearHistogramDto;
 import dev.milgodyn.carservice.exception.CarAlreadyExistsException;
 import dev.milgodyn.carservice.exception.CarNotFoundException;
+import dev.milgodyn.carservice.exception.InvalidPropertyValueException;
 import dev.milgodyn.carservice.mapper.CarMapper;
 import dev.milgodyn.carservice.persistence.entity.CarEntity;
+import dev.milgodyn.carservice.persistence.projection.CarExpiry;
+import dev.milgodyn.carservice.persistence.projection.CarFacetValues;
+import dev.milgodyn.carservice.persistence.projection.CarGroupStats;
+import dev.milgodyn.carservice.persistence.projection.CarRevision;
+import dev.milgodyn.carservice.persistence.projection.CarYearCount;
 import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import dev.milgodyn.carservice.persistence.type.CarField;
+import dev.milgodyn.carservice.persistence.type.CarGroupField;
+import dev.milgodyn.carservice.persistence.type.CarSortField;
 import dev.milgodyn.carservice.persistence.type.FuelType;
 import dev.milgodyn.carservice.persistence.type.TransmissionType;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class CarServiceTest {
@@ -32,12 +75,40 @@ class CarServiceTest {
     @Mock
     private CarMapper carMapper;
 
+    @Mock
+    private CarCache carCache;
+
+    @Mock
+    private VinIndex vinIndex;
+
+    @Mock
+    private CarFacets carFacets;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(50, 500);
+
+    @Spy
+    private BatchCreateProperties batchCreateProperties = new BatchCreateProperties(3, 2);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+    @Spy
+    private LookupProperties lookupProperties = new LookupProperties(6, 2);
+
     @InjectMocks
     private CarService underTest;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(vinIndex.mightExist(any())).thenReturn(true);
     }
 
     @Test
@@ -81,13 +152,7 @@ class CarServiceTest {
         entity.setTechnicalInspectionExpirationDate(givenDto.technicalInspectionExpirationDate());
         entity.setCreated(givenLocalDateTime);
 
-        when(carRepository.existsById(givenDto.vin())).thenReturn(false);
         when(carMapper.toEntity(any(CarDto.class))).thenReturn(entity);
-        when(carRepository.save(any(CarEntity.class))).thenAnswer(invocation -> {
-            CarEntity car = invocation.getArgument(0);
-            car.setCreated(givenLocalDateTime);
-            return car;
-        });
         when(carMapper.toDto(any(CarEntity.class))).thenReturn(givenDto);
 
         // when
@@ -95,7 +160,13 @@ class CarServiceTest {
 
         // then
         assertThat(actual).isEqualTo(givenDto);
-        verify(carRepository).save(any(CarEntity.class));
+        assertThat(entity.getCreated().getNano() % 1_000).isZero();
+        verify(carRepository).insert(entity);
+        verify(carCache).put(argThat(versioned -> versioned.body() == givenDto && versioned.etag() != null));
+        verify(vinIndex).add(givenDto.vin());
+        verify(carFacets).add(CarFacetValues.of(entity));
+        verify(carRepository, never()).existsById(any());
+        verify(carRepository, never()).save(any(CarEntity.class));
         verify(carMapper).toEntity(any(CarDto.class));
         verify(carMapper).toDto(any(CarEntity.class));
     }
@@ -122,15 +193,160 @@ class CarServiceTest {
                 null
         );
 
-        when(carRepository.existsById(givenDto.vin())).thenReturn(true);
+        when(carMapper.toEntity(any(CarDto.class))).thenReturn(new CarEntity());
+        doThrow(new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                "duplicate", new SQLException(), ConstraintViolationException.ConstraintKind.UNIQUE, "PRIMARY_KEY_1")))
+                .when(carRepository).insert(any(CarEntity.class));
 
         // when / then
         assertThatThrownBy(() -> underTest.create(givenDto))
                 .isInstanceOf(CarAlreadyExistsException.class)
                 .hasMessageContaining("Car with VIN='1HGCM82633A004352' already exists");
 
-        verify(carRepository, never()).save(any(CarEntity.class));
-        verify(carMapper, never()).toEntity(any(CarDto.class));
+        verify(carMapper, never()).toDto(any(CarEntity.class));
+        verify(vinIndex, never()).add(any());
+    }
+
+    @Test
+    void shouldRethrowException_whenInsertViolatesOtherConstraint() {
+        // given
+        var givenDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var exception = new DataIntegrityViolationException("not null", new ConstraintViolationException(
+                "not null", new SQLException(), ConstraintViolationException.ConstraintKind.OTHER, null));
+
+        when(carMapper.toEntity(any(CarDto.class))).thenReturn(new CarEntity());
+        doThrow(exception).when(carRepository).insert(any(CarEntity.class));
+
+        // when / then
+        assertThatThrownBy(() -> underTest.create(givenDto))
+                .isSameAs(exception);
+    }
+
+    @Test
+    void shouldCreateBatchAndReportStatusPerItem() {
+        // given
+        var validDto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var existingDto = new CarDto("2HGCM82633A004353", "Honda", "Civic", 2021, 30000, FuelType.DIESEL, 2.0, "Red", TransmissionType.AUTOMATIC, "Jane Doe", 30000.00, null, null, null, null, null);
+        var invalidDto = new CarDto("3HGCM82633A004354", null, "Civic", 2021, 30000, FuelType.DIESEL, 2.0, "Red", TransmissionType.AUTOMATIC, "Jane Doe", 30000.00, null, null, null, null, null);
+
+        ConstraintViolation<CarDto> violation = mock();
+        Path path = mock();
+        when(path.toString()).thenReturn("brand");
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(validator.validate(invalidDto)).thenReturn(Set.of(violation));
+        when(carRepository.findExistingVins(List.of(validDto.vin(), existingDto.vin())))
+                .thenReturn(Set.of(existingDto.vin()));
+        when(carMapper.toEntity(validDto)).thenReturn(new CarEntity());
+
+        // when
+        var actual = underTest.createBatch(List.of(validDto, existingDto, invalidDto));
+
+        // then
+        assertThat(actual.created()).isEqualTo(1);
+        assertThat(actual.conflicts()).isEqualTo(1);
+        assertThat(actual.invalid()).isEqualTo(1);
+        assertThat(actual.items()).containsExactly(
+                new CarBatchItemResultDto(0, validDto.vin(), CarBatchItemStatus.CREATED, null),
+                new CarBatchItemResultDto(1, existingDto.vin(), CarBatchItemStatus.CONFLICT, "Car with VIN='2HGCM82633A004353' already exists"),
+                new CarBatchItemResultDto(2, invalidDto.vin(), CarBatchItemStatus.INVALID, "Invalid parameters given: [brand]")
+        );
+        verify(carRepository).persistAll(argThat(entities -> entities.size() == 1));
+        verify(carRepository, never()).existsById(any());
+    }
+
+    @Test
+    void shouldNotLookUpVinsUnknownToIndex_whenCreatingBatch() {
+        // given
+        var dto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        var entity = new CarEntity();
+        entity.setVin(dto.vin());
+
+        when(vinIndex.mightExist(dto.vin())).thenReturn(false);
+        when(carMapper.toEntity(dto)).thenReturn(entity);
+
+        // when
+        var actual = underTest.createBatch(List.of(dto));
+
+        // then
+        assertThat(actual.created()).isEqualTo(1);
+        verify(carRepository, never()).findExistingVins(any());
+        verify(vinIndex).add(dto.vin());
+    }
+
+    @Test
+    void shouldReportConflict_whenVinRepeatedWithinBatch() {
+        // given
+        var dto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carRepository.findExistingVins(any())).thenReturn(Set.of());
+        when(carMapper.toEntity(dto)).thenReturn(new CarEntity());
+
+        // when
+        var actual = underTest.createBatch(List.of(dto, dto));
+
+        // then
+        assertThat(actual.created()).isEqualTo(1);
+        assertThat(actual.conflicts()).isEqualTo(1);
+        verify(carRepository).persistAll(argThat(entities -> entities.size() == 1));
+    }
+
+    @Test
+    void shouldLookUpExistingVinsInChunks_whenCreatingBatch() {
+        // given
+        var first = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var second = new CarDto("1HGCM82633A004353", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var third = new CarDto("1HGCM82633A004354", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carRepository.findExistingVins(List.of(first.vin(), second.vin()))).thenReturn(Set.of());
+        when(carRepository.findExistingVins(List.of(third.vin()))).thenReturn(Set.of(third.vin()));
+        when(carMapper.toEntity(any(CarDto.class))).thenReturn(new CarEntity());
+
+        // when
+        var actual = underTest.createBatch(List.of(first, second, third));
+
+        // then
+        assertThat(actual.created()).isEqualTo(2);
+        assertThat(actual.conflicts()).isEqualTo(1);
+        verify(carRepository, times(2)).findExistingVins(any());
+    }
+
+    @Test
+    void shouldRetryBatchAndReportConflict_whenVinInsertedConcurrently() {
+        // given
+        var dto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var other = new CarDto("1HGCM82633A004353", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carRepository.findExistingVins(any()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(dto.vin()));
+        when(carMapper.toEntity(any(CarDto.class))).thenAnswer(invocation -> new CarEntity());
+        doThrow(new DuplicateKeyException("duplicate"))
+                .doNothing()
+                .when(carRepository).persistAll(any());
+
+        // when
+        var actual = underTest.createBatch(List.of(dto, other));
+
+        // then
+        assertThat(actual.items()).containsExactly(
+                new CarBatchItemResultDto(0, dto.vin(), CarBatchItemStatus.CONFLICT, "Car with VIN='1HGCM82633A004352' already exists"),
+                new CarBatchItemResultDto(1, other.vin(), CarBatchItemStatus.CREATED, null)
+        );
+        verify(carRepository, times(2)).persistAll(any());
+    }
+
+    @Test
+    void shouldThrowException_whenBatchTooLarge() {
+        // given
+        var dto = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        // when / then
+        assertThatThrownBy(() -> underTest.createBatch(List.of(dto, dto, dto, dto)))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessageContaining("property=<batch_size>");
+
+        verify(carRepository, never()).persistAll(any());
     }
 
     @Test
@@ -184,6 +400,148 @@ class CarServiceTest {
         assertThat(actual).isEqualTo(expectedDto);
         verify(carRepository).findById(givenVin);
         verify(carMapper).toDto(any(CarEntity.class));
+        verify(carCache).put(new Versioned<>(expectedDto, new CarRevision(entity.getCreated(), 0).toEtag()));
+    }
+
+    @Test
+    void shouldReturnCachedCar_whenCarIsCached() {
+        // given
+        String givenVin = "1HGCM82633A004352";
+        var cachedDto = new CarDto(givenVin, "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carCache.get(givenVin)).thenReturn(Optional.of(new Versioned<>(cachedDto, "\"18f-1\"")));
+
+        // when
+        var actual = underTest.get(givenVin);
+
+        // then
+        assertThat(actual).isSameAs(cachedDto);
+        verify(carRepository, never()).findById(any());
+        verify(carMapper, never()).toDto(any(CarEntity.class));
+    }
+
+    @Test
+    void shouldNarrowDownCachedCar_whenFieldsRequested() {
+        // given
+        String givenVin = "1HGCM82633A004352";
+        var cachedDto = new CarDto(givenVin, "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carCache.get(givenVin)).thenReturn(Optional.of(new Versioned<>(cachedDto, "\"18f-1\"")));
+
+        // when
+        var actual = underTest.getFields(givenVin, EnumSet.of(CarField.PRICE, CarField.VIN, CarField.FUEL_TYPE));
+
+        // then
+        assertThat(actual).containsExactly(
+                Map.entry("vin", givenVin),
+                Map.entry("fuel_type", FuelType.GASOLINE),
+                Map.entry("price", 25000.00)
+        );
+        verify(carRepository, never()).findFieldsByVin(any(), any());
+    }
+
+    @Test
+    void shouldSelectOnlyRequestedColumns_whenCarNotCached() {
+        // given
+        String givenVin = "1HGCM82633A004352";
+        var fields = EnumSet.of(CarField.VIN, CarField.BRAND);
+
+        when(carRepository.findFieldsByVin(givenVin, fields))
+                .thenReturn(Optional.of(Map.of(CarField.VIN, givenVin, CarField.BRAND, "Toyota")));
+
+        // when
+        var actual = underTest.getFields(givenVin, fields);
+
+        // then
+        assertThat(actual).containsExactly(Map.entry("vin", givenVin), Map.entry("brand", "Toyota"));
+        verify(carRepository, never()).findById(any());
+        verify(carMapper, never()).toDto(any(CarEntity.class));
+    }
+
+    @Test
+    void shouldThrowException_whenFieldsOfUnknownCarRequested() {
+        // given
+        String givenVin = "NON_EXISTENT_VIN";
+        when(carRepository.findFieldsByVin(eq(givenVin), any())).thenReturn(Optional.empty());
+
+        // when / then
+        assertThatThrownBy(() -> underTest.getFields(givenVin, EnumSet.of(CarField.BRAND)))
+                .isInstanceOf(CarNotFoundException.class);
+    }
+
+    @Test
+    void shouldReturnFieldsPageWithCursor_whenMoreCarsAvailable() {
+        // given
+        when(carRepository.findFields(
+                EnumSet.of(CarField.VIN, CarField.PRODUCTION_YEAR, CarField.PRICE),
+                CarSortField.PRODUCTION_YEAR, Sort.Direction.ASC, null, null, 3))
+                .thenReturn(List.of(
+                        Map.of(CarField.VIN, "VIN_1", CarField.PRODUCTION_YEAR, 2018, CarField.PRICE, 10000.00),
+                        Map.of(CarField.VIN, "VIN_2", CarField.PRODUCTION_YEAR, 2019, CarField.PRICE, 20000.00),
+                        Map.of(CarField.VIN, "VIN_3", CarField.PRODUCTION_YEAR, 2020, CarField.PRICE, 30000.00)
+                ));
+
+        // when
+        var actual = underTest.getCarFieldsPage(null, 2, CarSortField.PRODUCTION_YEAR, Sort.Direction.ASC, EnumSet.of(CarField.PRICE));
+
+        // then
+        assertThat(actual.items()).containsExactly(Map.of("price", 10000.00), Map.of("price", 20000.00));
+        var cursor = CarCursor.decode(actual.nextCursor());
+        assertThat(cursor.lastValue()).isEqualTo(2019);
+        assertThat(cursor.lastVin()).isEqualTo("VIN_2");
+    }
+
+    @Test
+    void shouldContinueFieldsPageAfterCursor() {
+        // given
+        var cursor = new CarCursor(CarSortField.VIN, Sort.Direction.DESC, "VIN_3", "VIN_3").encode();
+        when(carRepository.findFields(EnumSet.of(CarField.VIN), CarSortField.VIN, Sort.Direction.DESC, "VIN_3", "VIN_3", 3))
+                .thenReturn(List.of(Map.of(CarField.VIN, "VIN_2")));
+
+        // when
+        var actual = underTest.getCarFieldsPage(cursor, 2, CarSortField.PRODUCTION_YEAR, Sort.Direction.ASC, EnumSet.of(CarField.VIN));
+
+        // then
+        assertThat(actual).isEqualTo(new CarFieldsPageDto(List.of(Map.of("vin", "VIN_2")), null));
+    }
+
+    @Test
+    void shouldLookUpCarsFromCacheIndexAndChunkedQueries() {
+        // given
+        var cachedDto = new CarDto("VIN_CACHED", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var firstEntity = lookupEntity("VIN_FIRST");
+        var secondEntity = lookupEntity("VIN_SECOND");
+        var firstDto = new CarDto("VIN_FIRST", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var secondDto = new CarDto("VIN_SECOND", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+
+        when(carCache.get("VIN_CACHED")).thenReturn(Optional.of(new Versioned<>(cachedDto, "\"18f-1\"")));
+        when(vinIndex.mightExist("VIN_UNKNOWN")).thenReturn(false);
+        when(carRepository.findAllById(List.of("VIN_SECOND", "VIN_FIRST"))).thenReturn(List.of(firstEntity, secondEntity));
+        when(carRepository.findAllById(List.of("VIN_DELETED"))).thenReturn(List.of());
+        when(carMapper.toDto(firstEntity)).thenReturn(firstDto);
+        when(carMapper.toDto(secondEntity)).thenReturn(secondDto);
+
+        // when
+        var actual = underTest.lookup(List.of("VIN_SECOND", "VIN_CACHED", "VIN_UNKNOWN", "VIN_FIRST", "VIN_DELETED", "VIN_CACHED"));
+
+        // then
+        assertThat(actual.cars()).containsExactly(secondDto, cachedDto, firstDto);
+        assertThat(actual.missing()).containsExactly("VIN_UNKNOWN", "VIN_DELETED");
+        verify(carRepository, times(2)).findAllById(any());
+        verify(carCache, never()).put(any());
+    }
+
+    @Test
+    void shouldThrowException_whenLookupTooLarge() {
+        // given
+        var vins = List.of("1", "2", "3", "4", "5", "6", "7");
+
+        // when / then
+        assertThatThrownBy(() -> underTest.lookup(vins))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessageContaining("property=<lookup_size>");
+
+        verify(carRepository, never()).findAllById(any());
     }
 
     @Test
@@ -201,6 +559,21 @@ class CarServiceTest {
         verify(carMapper, never()).toDto(any(CarEntity.class));
     }
 
+    @Test
+    void shouldThrowExceptionWithoutQuery_whenVinUnknownToIndex() {
+        // given
+        String givenVin = "NON_EXISTENT_VIN";
+        when(vinIndex.mightExist(givenVin)).thenReturn(false);
+
+        // when / then
+        assertThatThrownBy(() -> underTest.get(givenVin))
+                .isInstanceOf(CarNotFoundException.class)
+                .hasMessageContaining("Car with VIN='NON_EXISTENT_VIN' could not be found")
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+
+        verify(carRepository, never()).findById(any());
+    }
+
     @Test
     void shouldReturnListOfCars() {
         // given
@@ -236,6 +609,222 @@ class CarServiceTest {
         verify(carMapper).toDtoList(carList);
     }
 
+    @Test
+    void shouldExportAllCarsOneByOne() {
+        // given
+        var car1 = new CarEntity();
+        car1.setVin("1HGCM82633A004352");
+
+        var car2 = new CarEntity();
+        car2.setVin("2HGCM82633A004353");
+
+        var dto1 = new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null);
+        var dto2 = new CarDto("2HGCM82633A004353", "Honda", "Civic", 2021, 30000, FuelType.DIESEL, 2.0, "Red", TransmissionType.AUTOMATIC, "Jane Doe", 30000.00, null, null, null, null, null);
+
+        var closed = new boolean[1];
+        when(carRepository.streamAll()).thenReturn(Stream.of(car1, car2).onClose(() -> closed[0] = true));
+        when(carMapper.toDto(car1)).thenReturn(dto1);
+        when(carMapper.toDto(car2)).thenReturn(dto2);
+        var exported = new ArrayList<CarDto>();
+
+        // when
+        underTest.exportAllCars(exported::add);
+
+        // then
+        assertThat(exported).containsExactly(dto1, dto2);
+        assertThat(closed[0]).isTrue();
+        verify(entityManager).detach(car1);
+        verify(entityManager).detach(car2);
+        verify(carMapper, never()).toDtoList(any());
+    }
+
+    @Test
+    void shouldReturnPageOfCarsWithCursor_whenMoreCarsAvailable() {
+        // given
+        var car1 = new CarEntity();
+        car1.setVin("1HGCM82633A004352");
+        car1.setProductionYear(2020);
+
+        var car2 = new CarEntity();
+        car2.setVin("2HGCM82633A004353");
+        car2.setProductionYear(2021);
+
+        var carList = List.of(car1, car2);
+        var dtoList = List.of(
+                new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null),
+                new CarDto("2HGCM82633A004353", "Honda", "Civic", 2021, 30000, FuelType.DIESEL, 2.0, "Red", TransmissionType.AUTOMATIC, "Jane Doe", 30000.00, null, null, null, null, null)
+        );
+
+        when(carRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(carList, ScrollPosition::offset, true));
+        when(carMapper.toDtoList(carList)).thenReturn(dtoList);
+
+        // when
+        var actual = underTest.getCarsPage(null, 2, CarSortField.PRODUCTION_YEAR, Sort.Direction.ASC);
+
+        // then
+        assertThat(actual.body().items()).isEqualTo(dtoList);
+        assertThat(actual.etag()).isNotBlank();
+        assertThat(CarCursor.decode(actual.body().nextCursor()))
+                .isEqualTo(new CarCursor(CarSortField.PRODUCTION_YEAR, Sort.Direction.ASC, 2021, "2HGCM82633A004353"));
+        verify(carRepository).findBy(
+                ScrollPosition.keyset(),
+                Sort.by(Sort.Direction.ASC, "productionYear").and(Sort.by(Sort.Direction.ASC, "vin")),
+                Limit.of(2)
+        );
+        verify(carRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldTagPagesDifferently_whenOnlyVersionDiffers() {
+        // given
+        var car = new CarEntity();
+        car.setVin("1HGCM82633A004352");
+        car.setProductionYear(2020);
+
+        when(carRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenAnswer(invocation -> Window.from(List.of(car), ScrollPosition::offset, false));
+        when(carMapper.toDtoList(List.of(car))).thenReturn(List.of());
+
+        // when
+        var before = underTest.getCarsPage(null, 1, CarSortField.VIN, Sort.Direction.ASC);
+        car.setVersion(1);
+        var after = underTest.getCarsPage(null, 1, CarSortField.VIN, Sort.Direction.ASC);
+
+        // then
+        assertThat(before.etag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void shouldContinueFromCursor_whenGivenCursor() {
+        // given
+        var cursor = new CarCursor(CarSortField.VIN, Sort.Direction.DESC, "2HGCM82633A004353", "2HGCM82633A004353");
+
+        when(carRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset, false));
+        when(carMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // when
+        var actual = underTest.getCarsPage(cursor.encode(), null, CarSortField.CREATED, Sort.Direction.ASC);
+
+        // then
+        assertThat(actual.body().items()).isEmpty();
+        assertThat(actual.body().nextCursor()).isNull();
+        verify(carRepository).findBy(
+                ScrollPosition.forward(Map.of("vin", "2HGCM82633A004353")),
+                Sort.by(Sort.Direction.DESC, "vin"),
+                Limit.of(50)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSearchCarsUsingSpecification() {
+        // given
+        var car = new CarEntity();
+        car.setVin("1HGCM82633A004352");
+        var dtoList = List.of(
+                new CarDto("1HGCM82633A004352", "Toyota", "Corolla", 2020, 50000, FuelType.GASOLINE, 1.8, "Black", TransmissionType.MANUAL, "John Doe", 25000.00, null, null, null, null, null)
+        );
+        var criteria = new CarSearchCriteria("Toyota", null, null, null, 2018, 2021, null, null, null, null, null);
+
+        when(carRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(Window.from(List.of(car), ScrollPosition::offset, false));
+        when(carMapper.toDtoList(List.of(car))).thenReturn(dtoList);
+
+        // when
+        var actual = underTest.searchCars(criteria, null, 10, CarSortField.VIN, Sort.Direction.ASC);
+
+        // then
+        assertThat(actual.body().items()).isEqualTo(dtoList);
+        assertThat(actual.body().nextCursor()).isNull();
+        verify(carRepository, never()).findAll();
+        verify(carRepository, never()).findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
+    }
+
+    @Test
+    void shouldReturnStatsComputedByRepository() {
+        // given
+        var stats = List.of(new CarGroupStats("Toyota", 2, 25000.0, 40000.0));
+        var dtoList = List.of(new CarGroupStatsDto("Toyota", 2, 25000.0, 40000.0));
+
+        when(carRepository.aggregate(CarGroupField.BRAND)).thenReturn(stats);
+        when(carMapper.toGroupStatsDtoList(stats)).thenReturn(dtoList);
+
+        // when
+        var actual = underTest.getStats(CarGroupField.BRAND);
+
+        // then
+        assertThat(actual).isEqualTo(dtoList);
+        verify(carRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldGroupProductionYearCountsIntoHistograms() {
+        // given
+        when(carRepository.countByProductionYear(CarGroupField.FUEL_TYPE)).thenReturn(List.of(
+                new CarYearCount("GASOLINE", 2019, 3),
+                new CarYearCount("GASOLINE", 2020, 1),
+                new CarYearCount("HYBRID", 2021, 2)
+        ));
+
+        // when
+        var actual = underTest.getProductionYearHistogram(CarGroupField.FUEL_TYPE);
+
+        // then
+        assertThat(actual).containsExactly(
+                new CarYearHistogramDto("GASOLINE", new TreeMap<>(Map.of(2019, 3L, 2020, 1L))),
+                new CarYearHistogramDto("HYBRID", new TreeMap<>(Map.of(2021, 2L)))
+        );
+    }
+
+    @Test
+    void shouldContinueExpiringCarsAfterCursor() {
+        // given
+        var first = new CarExpiry("1HGCM82633A000001", "John Doe", "XYZ1", LocalDate.now().plusDays(3));
+        var second = new CarExpiry("1HGCM82633A000002", "Jane Doe", "XYZ2", LocalDate.now().plusDays(5));
+        var third = new CarExpiry("1HGCM82633A000003", "Jane Doe", "XYZ3", LocalDate.now().plusDays(9));
+        when(carRepository.findExpiring(eq(CarDocument.INSURANCE), any(), any(), eq(null), eq(null), eq(3)))
+                .thenReturn(List.of(first, second, third));
+        when(carRepository.findExpiring(eq(CarDocument.INSURANCE), any(), any(), eq(second.expirationDate()), eq(second.vin()), eq(3)))
+                .thenReturn(List.of(third));
+
+        // when
+        var firstPage = underTest.getExpiringCars(CarDocument.INSURANCE, 30, null, 2);
+        var secondPage = underTest.getExpiringCars(CarDocument.INSURANCE, 30, firstPage.nextCursor(), 2);
+
+        // then
+        assertThat(firstPage.items()).containsExactly(
+                CarExpiryDto.of(CarDocument.INSURANCE, first),
+                CarExpiryDto.of(CarDocument.INSURANCE, second)
+        );
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(secondPage.items()).containsExactly(CarExpiryDto.of(CarDocument.INSURANCE, third));
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectCursorOfOtherDocument() {
+        // given
+        var cursor = new CarExpiryCursor(CarDocument.INSURANCE, LocalDate.now(), "1HGCM82633A000001").encode();
+
+        // when / then
+        assertThatThrownBy(() -> underTest.getExpiringCars(CarDocument.TECHNICAL_INSPECTION, 30, cursor, null))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessageContaining("property=<cursor>");
+    }
+
+    @Test
+    void shouldThrowException_whenGivenMalformedCursor() {
+        // when / then
+        assertThatThrownBy(() -> underTest.getCarsPage("not a cursor", null, CarSortField.VIN, Sort.Direction.ASC))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessageContaining("property=<cursor>");
+
+        verify(carRepository, never()).findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
+    }
+
     @Test
     void shouldUpdateExistingCar_whenGivenPartialDto() {
         // given
@@ -295,7 +884,7 @@ class CarServiceTest {
             return null;
         }).when(carMapper).updateCarFromDto(any(CarDto.class), any(CarEntity.class));
 
-        when(carRepository.save(any(CarEntity.class))).thenReturn(existingCar);
+        when(carRepository.saveAndFlush(any(CarEntity.class))).thenReturn(existingCar);
 
         when(carMapper.toDto(any(CarEntity.class))).thenAnswer(invocation -> {
             CarEntity car = invocation.getArgument(0);
@@ -336,8 +925,13 @@ class CarServiceTest {
         assertThat(actual.transmission()).isEqualTo(TransmissionType.MANUAL);
 
         verify(carMapper).updateCarFromDto(partialUpdateDto, existingCar);
-        verify(carRepository).save(existingCar);
+        verify(carRepository).saveAndFlush(existingCar);
         verify(carMapper).toDto(existingCar);
+        verify(carCache).evict(givenVin);
+        verify(carFacets).replace(
+                new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020),
+                new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020)
+        );
     }
 
 
@@ -372,34 +966,148 @@ class CarServiceTest {
                 .hasMessageContaining("Car with VIN='NON_EXISTENT_VIN' could not be found");
 
         verify(carMapper, never()).updateCarFromDto(any(CarDto.class), any(CarEntity.class));
+        verify(carRepository, never()).saveAndFlush(any(CarEntity.class));
+    }
+
+    @Test
+    void shouldPatchOnlySuppliedFieldsWithoutLoadingCar() {
+        // given
+        String givenVin = "1HGCM82633A004352";
+        var patchDto = new CarDto(null, null, null, null, 60000, null, null, null, null, "Jane Smith", null, null, null, null, null, null);
+
+        when(carRepository.patch(eq(givenVin), any())).thenReturn(1);
+
+        // when
+        underTest.patch(givenVin, patchDto);
+
+        // then
+        verify(carRepository).patch(givenVin, Map.of("mileage", 60000, "owner", "Jane Smith"));
+        verify(carRepository, never()).findById(any());
+        verify(carRepository, never()).findFacetValuesForUpdateByVin(any());
         verify(carRepository, never()).save(any(CarEntity.class));
+        verify(carCache).evict(givenVin);
+        verify(carFacets, never()).replace(any(), any());
+    }
+
+    @Test
+    void shouldMoveFacetCounts_whenPatchChangesFacetedField() {
+        // given
+        String givenVin = "1HGCM82633A004352";
+        var patchDto = new CarDto(null, null, null, null, null, FuelType.HYBRID, null, null, null, null, null, null, null, null, null, null);
+        var facetsBefore = new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020);
+
+        when(carRepository.findFacetValuesForUpdateByVin(givenVin)).thenReturn(Optional.of(facetsBefore));
+        when(carRepository.patch(eq(givenVin), any())).thenReturn(1);
+
+        // when
+        underTest.patch(givenVin, patchDto);
+
+        // then
+        verify(carRepository).patch(givenVin, Map.of("fuelType", FuelType.HYBRID));
+        verify(carFacets).replace(facetsBefore, new CarFacetValues("Toyota", FuelType.HYBRID, TransmissionType.MANUAL, 2020));
+    }
+
+    @Test
+    void shouldThrowException_whenCarToPatchNotFound() {
+        // given
+        String givenVin = "NON_EXISTENT_VIN";
+        var patchDto = new CarDto(null, null, null, null, 60000, null, null, null, null, null, null, null, null, null, null, null);
+
+        when(carRepository.patch(eq(givenVin), any())).thenReturn(0);
+
+        // when / then
+        assertThatThrownBy(() -> underTest.patch(givenVin, patchDto))
+                .isInstanceOf(CarNotFoundException.class)
+                .hasMessageContaining("Car with VIN='NON_EXISTENT_VIN' could not be found");
+
+        verify(carCache, never()).evict(any());
+    }
+
+    @Test
+    void shouldThrowException_whenPatchChangesVin() {
+        // given
+        var patchDto = new CarDto("OTHER_VIN", null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+        // when / then
+        assertThatThrownBy(() -> underTest.patch("1HGCM82633A004352", patchDto))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessage("Invalid value 'OTHER_VIN' for property=<vin>");
+
+        verify(carRepository, never()).patch(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldThrowException_whenPatchedValueIsInvalid() {
+        // given
+        var patchDto = new CarDto(null, null, null, null, -1, null, null, null, null, null, null, null, null, null, null, null);
+
+        when(validator.validateValue(CarDto.class, "mileage", -1)).thenReturn(Set.of(mock(ConstraintViolation.class)));
+
+        // when / then
+        assertThatThrownBy(() -> underTest.patch("1HGCM82633A004352", patchDto))
+                .isInstanceOf(InvalidPropertyValueException.class)
+                .hasMessage("Invalid value '-1' for property=<mileage>");
+
+        verify(carRepository, never()).patch(any(), any());
     }
 
     @Test
     void shouldDeleteCar_whenGivenExistingVin() {
         // given
         String givenVin = "1HGCM82633A004352";
-        var existingCar = new CarEntity();
-        existingCar.setVin(givenVin);
+        var facets = new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020);
 
-        when(carRepository.findById(givenVin)).thenReturn(Optional.of(existingCar));
+        when(carRepository.findFacetValuesForUpdateByVin(givenVin)).thenReturn(Optional.of(facets));
+        when(carRepository.deleteByVin(givenVin)).thenReturn(1);
 
         // when
         underTest.delete(givenVin);
 
         // then
-        verify(carRepository).delete(existingCar);
+        verify(carRepository).deleteByVin(givenVin);
+        verify(carRepository, never()).findById(any());
+        verify(carCache).evict(givenVin);
+        verify(carFacets).remove(facets);
+        verify(vinIndex).remove(givenVin);
     }
 
     @Test
     void shouldThrowException_whenCarToDeleteNotFound() {
         // given
         String givenVin = "NON_EXISTENT_VIN";
-        when(carRepository.findById(givenVin)).thenReturn(Optional.empty());
+        when(carRepository.findFacetValuesForUpdateByVin(givenVin)).thenReturn(Optional.empty());
 
         // when / then
         assertThatThrownBy(() -> underTest.delete(givenVin))
                 .isInstanceOf(CarNotFoundException.class)
                 .hasMessageContaining("Car with VIN='NON_EXISTENT_VIN' could not be found");
+
+        verify(carRepository, never()).deleteByVin(any());
+        verify(carCache, never()).evict(any());
+        verify(vinIndex, never()).remove(any());
+        verify(carFacets, never()).remove(any());
+    }
+
+    @Test
+    void shouldNotTouchFacets_whenCarDeletedConcurrently() {
+        // given
+        String givenVin = "1HGCM82633A004352";
+        when(carRepository.findFacetValuesForUpdateByVin(givenVin))
+                .thenReturn(Optional.of(new CarFacetValues("Toyota", FuelType.GASOLINE, TransmissionType.MANUAL, 2020)));
+        when(carRepository.deleteByVin(givenVin)).thenReturn(0);
+
+        // when / then
+        assertThatThrownBy(() -> underTest.delete(givenVin))
+                .isInstanceOf(CarNotFoundException.class);
+
+        verify(carFacets, never()).remove(any());
+    }
+
+    private static CarEntity lookupEntity(String vin) {
+        var entity = new CarEntity();
+        entity.setVin(vin);
+        entity.setCreated(LocalDateTime.of(2024, 5, 15, 10, 0));
+        return entity;
     }
 }
@@ -0,0 +1,73 @@
+package dev.milgodyn.carservice.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import dev.milgodyn.carservice.config.ExpiryScanProperties;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileCarExpirySinkTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldPublishReportOnlyWhenScanCompletes() throws IOException {
+        // given
+        var underTest = sink();
+        var file = directory.resolve("expiring-cars-2024-06-01.ndjson");
+
+        // when
+        try (var report = underTest.open(TODAY, TODAY.plusDays(30))) {
+            report.accept(List.of(car("1HGCM82633A000001"), car("1HGCM82633A000002")));
+            assertThat(file).doesNotExist();
+            report.complete();
+        }
+
+        // then
+        assertThat(Files.readAllLines(file)).hasSize(2).first().asString().contains("1HGCM82633A000001");
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void shouldKeepPreviousReport_whenScanFails() throws IOException {
+        // given
+        var underTest = sink();
+        var file = directory.resolve("expiring-cars-2024-06-01.ndjson");
+        Files.writeString(file, "previous\n");
+
+        // when
+        assertThatThrownBy(() -> {
+            try (var report = underTest.open(TODAY, TODAY.plusDays(30))) {
+                report.accept(List.of(car("1HGCM82633A000001")));
+                throw new IllegalStateException("Database down");
+            }
+        }).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(file).hasContent("previous");
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    private FileCarExpirySink sink() {
+        return new FileCarExpirySink(new ExpiryScanProperties(true, "-", 30, 2, ExpiryScanProperties.Sink.FILE, directory, 10, Duration.ofSeconds(5)),
+                JsonMapper.builder().findAndAddModules().build());
+    }
+
+    private static CarExpiryDto car(String vin) {
+        return new CarExpiryDto(vin, CarDocument.INSURANCE, TODAY.plusDays(7), "John Doe", null);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.config.ExpiryScanProperties;
+import dev.milgodyn.carservice.dto.CarExpiryDto;
+import dev.milgodyn.carservice.persistence.type.CarDocument;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueCarExpirySinkTest {
+
+    private final QueueCarExpirySink underTest = new QueueCarExpirySink(
+            new ExpiryScanProperties(true, "-", 30, 2, ExpiryScanProperties.Sink.QUEUE, Path.of("expiry-reports"), 2, Duration.ofMillis(10)));
+
+    @Test
+    void shouldDropCarsInsteadOfBlocking_whenNobodyConsumesQueue() {
+        // given
+        var today = LocalDate.now();
+        var cars = List.of(car("1HGCM82633A000001"), car("1HGCM82633A000002"), car("1HGCM82633A000003"), car("1HGCM82633A000004"));
+
+        // when
+        try (var report = underTest.open(today, today.plusDays(30))) {
+            report.accept(cars);
+            report.complete();
+        }
+
+        // then
+        assertThat(underTest.queue()).containsExactly(cars.get(0), cars.get(1));
+    }
+
+    private static CarExpiryDto car(String vin) {
+        return new CarExpiryDto(vin, CarDocument.INSURANCE, LocalDate.now().plusDays(7), "John Doe", null);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.milgodyn.carservice.service;
+
+import dev.milgodyn.carservice.config.VinIndexProperties;
+import dev.milgodyn.carservice.persistence.repository.CarRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VinIndexTest {
+
+    private CarRepository carRepository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = mock(CarRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldKnowAllVinsFromTable_afterStartup() {
+        // given
+        var underTest = vinIndex(true);
+        when(carRepository.streamAllVins()).thenReturn(Stream.of("1HGCM82633A004352", "2HGCM82633A004353"));
+
+        // when
+        underTest.afterSingletonsInstantiated();
+
+        // then
+        assertThat(underTest.mightExist("1HGCM82633A004352")).isTrue();
+        assertThat(underTest.mightExist("2HGCM82633A004353")).isTrue();
+        assertThat(underTest.mightExist("NON_EXISTENT_VIN")).isFalse();
+        assertThat(meterRegistry.get("car.vin.index.entries").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("car.vin.index.false.positive.probability").gauge().value()).isLessThan(0.01);
+    }
+
+    @Test
+    void shouldFollowCreatesAndDeletes() {
+        // given
+        var underTest = vinIndex(true);
+        when(carRepository.streamAllVins()).thenReturn(Stream.empty());
+        underTest.afterSingletonsInstantiated();
+
+        // when
+        underTest.add("1HGCM82633A004352");
+        underTest.add("2HGCM82633A004353");
+        underTest.remove("1HGCM82633A004352");
+
+        // then
+        assertThat(underTest.mightExist("1HGCM82633A004352")).isFalse();
+        assertThat(underTest.mightExist("2HGCM82633A004353")).isTrue();
+    }
+
+    @Test
+    void shouldAssumeEveryVinMightExist_whenDisabled() {
+        // given
+        var underTest = vinIndex(false);
+
+        // when
+        underTest.afterSingletonsInstantiated();
+
+        // then
+        assertThat(underTest.mightExist("NON_EXISTENT_VIN")).isTrue();
+        verify(carRepository, never()).streamAllVins();
+    }
+
+    private VinIndex vinIndex(boolean enabled) {
+        return new VinIndex(
+                carRepository,
+                new NoOpTransactionManager(),
+                new VinIndexProperties(enabled, 1_000, 0.01),
+                meterRegistry
+        );
+    }
+}